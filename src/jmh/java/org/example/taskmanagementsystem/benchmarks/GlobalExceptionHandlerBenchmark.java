@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import jakarta.validation.Valid;
+import org.example.taskmanagementsystem.controllers.GlobalExceptionHandler;
+import org.example.taskmanagementsystem.dto.TaskCreateRequest;
+import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Ошибочные ответы через DispatcherServlet: поиск обработчика в GlobalExceptionHandler и запись тела.
+// Контроллер-заглушка только бросает исключения, поэтому в замер не попадают сервисы и база
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({"notFound", "unauthorized", "illegalArgument", "validation", "unexpected"})
+    private String error;
+
+    private MockMvc mockMvc;
+    private RequestBuilder request;
+
+    @Setup
+    public void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        request = switch (error) {
+            case "notFound" -> get("/not-found");
+            case "unauthorized" -> get("/unauthorized");
+            case "illegalArgument" -> get("/illegal-argument");
+            case "validation" -> post("/validation")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"\", \"description\": \"\", \"priority\": null, \"assigneeIds\": []}");
+            case "unexpected" -> get("/unexpected");
+            default -> throw new IllegalArgumentException(error);
+        };
+
+        // Без этой проверки опечатка в заглушке незаметно превратила бы замер в путь через обработчик Exception
+        int expectedStatus = switch (error) {
+            case "notFound" -> 404;
+            case "unauthorized" -> 401;
+            case "unexpected" -> 500;
+            default -> 400;
+        };
+        int status = handle().getStatus();
+        if (status != expectedStatus) {
+            throw new IllegalStateException("Ожидался статус " + expectedStatus + ", получен " + status);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse handle() throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    @RestController
+    public static class FailingController {
+
+        @GetMapping("/not-found")
+        public void notFound() {
+            throw new TaskNotFoundException("Такой задачи не существует");
+        }
+
+        @GetMapping("/unauthorized")
+        public void unauthorized() {
+            throw new UnauthorizedAccessException("У вас не прав на просмотр данной задачи");
+        }
+
+        @GetMapping("/illegal-argument")
+        public void illegalArgument() {
+            throw new IllegalArgumentException("Некорректный заголовок If-Match");
+        }
+
+        @PostMapping("/validation")
+        public void validation(@Valid @RequestBody TaskCreateRequest request) {
+        }
+
+        @GetMapping("/unexpected")
+        public void unexpected() {
+            throw new IllegalStateException("Соединение с базой потеряно");
+        }
+    }
+}
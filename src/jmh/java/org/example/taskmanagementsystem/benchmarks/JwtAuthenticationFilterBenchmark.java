@@ -0,0 +1,63 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
+import org.example.taskmanagementsystem.security.JwtTokenCache;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Фильтр аутентификации с кэшем проверенных токенов и без него.
+// Клиенты переиспользуют небольшой набор токенов, как и в реальной нагрузке
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final int TOKEN_COUNT = 64;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String[] authHeaders;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        JwtTokenCache jwtTokenCache = new JwtTokenCache(jwtUtil, cacheEnabled ? 10_000 : 0);
+        filter = new JwtAuthenticationFilter(jwtTokenCache, new RoleChangeRegistry());
+
+        authHeaders = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setEmail("user" + i + "@example.com");
+            user.setRole(i % 2 == 0 ? Role.USER : Role.ADMIN);
+            authHeaders[i] = "Bearer " + jwtUtil.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task");
+        request.addHeader("Authorization", authHeaders[next++ & (TOKEN_COUNT - 1)]);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
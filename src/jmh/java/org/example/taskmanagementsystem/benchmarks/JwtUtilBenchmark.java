@@ -0,0 +1,60 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Выпуск и проверка JWT без кэша токенов: подпись HMAC-SHA256 и разбор claims
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("user42@example.com");
+        user.setRole(Role.USER);
+
+        token = jwtUtil.generateToken(user);
+        // Последний символ подписи изменён: разбор доходит до сверки HMAC и завершается исключением
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyTamperedToken() {
+        return jwtUtil.verifyToken(tamperedToken);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import org.example.taskmanagementsystem.TaskManagementSystemApplication;
+import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.UserResponse;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.CommentRepository;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.TaskSpecifications;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Страница задач автора: проекции против загрузки сущностей с последующим маппингом.
+// Аллокации на операцию смотреть через профайлер: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TaskListProjection -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskListProjectionBenchmark {
+
+    private static final int TASK_COUNT = 500;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private CommentRepository commentRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Long authorId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--task.event-log.directory=target/benchmark-events");
+
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        authorId = fillDatabase(context.getBean(UserRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> projections() {
+        return taskService.getTasksByAuthor(authorId, null, null, 0, pageSize).getContent();
+    }
+
+    // Прежний путь: управляемые сущности, ленивые связи и комментарии отдельным запросом на каждую задачу
+    @Benchmark
+    public List<TaskResponse> entities() {
+        return readOnlyTransaction.execute(status -> {
+            TaskSearchRequest request = new TaskSearchRequest();
+            request.setAuthorId(authorId);
+
+            Page<Task> tasks = taskRepository.findAll(TaskSpecifications.matching(request), PageRequest.of(0, pageSize));
+            return tasks.map(this::mapToTaskResponse).getContent();
+        });
+    }
+
+    private TaskResponse mapToTaskResponse(Task task) {
+        List<CommentResponse> comments = commentRepository.findByTaskId(task.getId()).stream()
+                .map(this::mapToCommentResponse)
+                .toList();
+
+        Set<UserResponse> assignees = task.getAssignees().stream()
+                .map(this::mapToUserResponse)
+                .collect(Collectors.toSet());
+
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(),
+                task.getStatus(), comments, assignees, mapToUserResponse(task.getAuthor()), task.getVersion());
+    }
+
+    private CommentResponse mapToCommentResponse(Comment comment) {
+        CommentResponse commentResponse = new CommentResponse();
+        commentResponse.setId(comment.getId());
+        commentResponse.setContent(comment.getContent());
+        commentResponse.setAuthorEmail(comment.getAuthor().getEmail());
+        return commentResponse;
+    }
+
+    private UserResponse mapToUserResponse(User user) {
+        return new UserResponse(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    private Long fillDatabase(UserRepository userRepository) {
+        User author = userRepository.save(createUser("author@example.com", Role.ADMIN));
+
+        List<User> assignees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            assignees.add(createUser("assignee" + i + "@example.com", Role.USER));
+        }
+        assignees = userRepository.saveAll(assignees);
+
+        List<Task> tasks = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Задача " + i);
+            task.setDescription("Описание задачи ".repeat(20));
+            task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setAuthor(author);
+            task.setAssignees(Set.of(assignees.get(i % 10), assignees.get((i + 1) % 10)));
+            tasks.add(task);
+
+            for (int j = 0; j < 3; j++) {
+                Comment comment = new Comment();
+                comment.setTask(task);
+                comment.setAuthor(assignees.get((i + j) % 10));
+                comment.setContent("Комментарий " + j);
+                comments.add(comment);
+            }
+        }
+        taskRepository.saveAll(tasks);
+        commentRepository.saveAll(comments);
+
+        return author.getId();
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
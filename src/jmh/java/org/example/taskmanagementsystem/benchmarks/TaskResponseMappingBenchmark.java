@@ -0,0 +1,119 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import org.example.taskmanagementsystem.TaskManagementSystemApplication;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.CommentRepository;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сборка одной задачи через getTaskById с отключённым кэшем ответов: проверка прав, задача и пользователи
+// из кэша второго уровня, комментарии отдельным запросом и маппинг в TaskResponse
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskResponseMappingBenchmark {
+
+    @Param({"5", "50"})
+    private int commentCount;
+
+    @Param({"1", "10"})
+    private int assigneeCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long taskId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:mapping-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--task.response-cache.maximum-size=0",
+                        "--task.event-log.directory=target/benchmark-events");
+
+        taskService = context.getBean(TaskService.class);
+        User author = fillDatabase(context.getBean(UserRepository.class), context.getBean(TaskRepository.class),
+                context.getBean(CommentRepository.class));
+
+        // Поток замера не совпадает с потоком подготовки, поэтому контекст безопасности общий для всех потоков
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        AuthenticatedUser principal = new AuthenticatedUser(author.getId(), author.getEmail(), author.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    // Чтения задачи сами открывают read-only транзакции, внешняя держала бы лишнее соединение
+    @Benchmark
+    public TaskResponse getTaskById() {
+        return taskService.getTaskById(taskId);
+    }
+
+    private User fillDatabase(UserRepository userRepository, TaskRepository taskRepository, CommentRepository commentRepository) {
+        User author = userRepository.save(createUser("author@example.com", Role.ADMIN));
+
+        List<User> assignees = new ArrayList<>();
+        for (int i = 0; i < assigneeCount; i++) {
+            assignees.add(createUser("assignee" + i + "@example.com", Role.USER));
+        }
+        assignees = userRepository.saveAll(assignees);
+
+        Task task = new Task();
+        task.setTitle("Перенести импорт задач на пакетную вставку");
+        task.setDescription("Описание задачи с критериями приёмки. ".repeat(5));
+        task.setPriority(TaskPriority.HIGH);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setAuthor(author);
+        task.setAssignees(new HashSet<>(assignees));
+        task = taskRepository.save(task);
+        taskId = task.getId();
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            Comment comment = new Comment();
+            comment.setTask(task);
+            comment.setAuthor(assignees.get(i % assigneeCount));
+            comment.setContent("Комментарий " + i + ": " + "проверил изменения, ".repeat(1 + i % 3));
+            comments.add(comment);
+        }
+        commentRepository.saveAll(comments);
+
+        return author;
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.config.MessageConverterConfig;
+import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.UserResponse;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Кодирование и разбор TaskResponse и списка комментариев (ответ GET /comment/{taskId}) в JSON, CBOR и Smile
+// теми же мапперами, что отдают ответы API. Размер задачи в байтах печатается при подготовке каждого набора параметров
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskResponseSerializationBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"5", "200"})
+    private int commentCount;
+
+    private ObjectMapper mapper;
+    private TaskResponse task;
+    private byte[] payload;
+    private byte[] commentsPayload;
+    private JavaType commentListType;
+
+    @Setup
+    public void setUp() throws IOException {
+        MessageConverterConfig config = new MessageConverterConfig();
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            case "smile" -> config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        task = createTask(commentCount);
+        payload = mapper.writeValueAsBytes(task);
+        commentsPayload = mapper.writeValueAsBytes(task.getComments());
+        commentListType = mapper.getTypeFactory().constructCollectionType(List.class, CommentResponse.class);
+        System.out.printf("%n%s, комментариев %d: %d байт%n", format, commentCount, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public TaskResponse decode() throws IOException {
+        return mapper.readValue(payload, TaskResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeComments() throws IOException {
+        return mapper.writeValueAsBytes(task.getComments());
+    }
+
+    @Benchmark
+    public List<CommentResponse> decodeComments() throws IOException {
+        return mapper.readValue(commentsPayload, commentListType);
+    }
+
+    private TaskResponse createTask(int commentCount) {
+        UserResponse author = new UserResponse(1L, "author@example.com", Role.ADMIN);
+
+        Set<UserResponse> assignees = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            assignees.add(new UserResponse(10L + i, "assignee" + i + "@example.com", Role.USER));
+        }
+
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            CommentResponse comment = new CommentResponse();
+            comment.setId(1_000L + i);
+            comment.setContent("Комментарий " + i + ": " + "проверил изменения, ".repeat(1 + i % 8));
+            comment.setAuthorEmail("assignee" + i % 3 + "@example.com");
+            comments.add(comment);
+        }
+
+        return new TaskResponse(42L, "Перенести импорт задач на пакетную вставку",
+                "Описание задачи с критериями приёмки. ".repeat(15), TaskPriority.HIGH, TaskStatus.IN_PROGRESS,
+                comments, assignees, author, 17L);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.taskmanagementsystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskmanagementsystem.metrics.RequestContextCallableInterceptor;
+import org.example.taskmanagementsystem.metrics.RequestMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig {
+
+    // Фильтр стоит перед Spring Security, чтобы в счёт попадали и запросы, отклонённые при аутентификации
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${task.metrics.statement-budget:50}") int statementBudget) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, statementBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer asyncRequestContext() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new RequestContextCallableInterceptor());
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.taskmanagementsystem.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import org.example.taskmanagementsystem.security.JwtAuthenticationEntryPoint;
 import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
@@ -31,6 +32,8 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                    // Асинхронная отправка продолжает уже авторизованный запрос (SSE, потоковые ответы)
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(
                             "/auth/**",
                             "/v3/api-docs/**",
@@ -41,8 +44,10 @@ public class SecurityConfig {
                             "/api-docs/**",
                             "/swagger-ui-custom.html",
                             "/v3/api-docs",
-                            "/v3/api-docs/**"
+                            "/v3/api-docs/**",
+                            "/actuator/health"
                     ).permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
                 )
                 .exceptionHandling(exception -> exception
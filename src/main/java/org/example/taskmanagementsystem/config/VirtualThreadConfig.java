@@ -0,0 +1,46 @@
+package org.example.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.example.taskmanagementsystem.datasource.BulkheadDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Режим включается spring.threads.virtual.enabled=true: на виртуальные потоки переходят Tomcat,
+// асинхронные ответы MVC (выгрузки) и планировщик. Потоков запросов становится больше, чем соединений,
+// поэтому пул закрывается ограничителем с тем же числом мест и тем же таймаутом ожидания
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor dataSourceBulkhead() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+
+                // Пока пул не запущен, размер по умолчанию ещё не подставлен и равен -1
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                BulkheadDataSource bulkhead = new BulkheadDataSource(hikari, poolSize,
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+                Gauge.builder("datasource.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                        .tag("name", beanName)
+                        .register(Metrics.globalRegistry);
+                Gauge.builder("datasource.bulkhead.waiting", bulkhead, BulkheadDataSource::getWaitingThreads)
+                        .tag("name", beanName)
+                        .register(Metrics.globalRegistry);
+                return bulkhead;
+            }
+        };
+    }
+}
@@ -134,9 +134,31 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.OK).body(new ApiMessageResponse(authService.login(request)));
     }
 
+    @Operation(
+            summary = "Получение роли администратора",
+            description = "Этот метод выдаёт текущему пользователю роль ADMIN. Только в целях тестирования. " +
+                    "Прежний токен после смены роли больше не принимается, в ответе возвращается новый JWT токен",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Роль изменена. В ответе возвращается новый JWT токен",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"{{token}}\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Вы не авторизованы, пожалуйста войдите в аккаунт\"}")
+                            )
+                    )
+            }
+    )
     @PatchMapping("/upgrade-to-admin")
-    public ResponseEntity<String> upgradeToAdmin() {
-        userService.upgradeToAdmin();
-        return ResponseEntity.ok("Upgrade to admin successfully");
+    public ResponseEntity<ApiMessageResponse> upgradeToAdmin() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiMessageResponse(userService.upgradeToAdmin()));
     }
 }
\ No newline at end of file
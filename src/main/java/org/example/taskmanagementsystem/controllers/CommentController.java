@@ -2,6 +2,7 @@ package org.example.taskmanagementsystem.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,9 +13,12 @@ import lombok.AllArgsConstructor;
 import org.example.taskmanagementsystem.dto.*;
 import org.example.taskmanagementsystem.services.CommentService;
 import org.example.taskmanagementsystem.util.ApiMessageResponse;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,10 +31,14 @@ public class CommentController {
 
     @Operation(
             summary = "Получить все комментарии к существующей задаче",
-            description = "Этот метод позволяет получить список всех комментариев к существующей задаче. Доступен только для пользователей с ролью ADMIN и исполнителей задачи",
+            description = "Этот метод позволяет получить список всех комментариев к существующей задаче. Доступен только для пользователей с ролью ADMIN и исполнителей задачи. " +
+                    "Кроме JSON ответ отдаётся в CBOR (Accept: application/cbor) или Smile (Accept: application/x-jackson-smile)",
             parameters = {
                     @Parameter(name = "taskId", description = "Идентификатор задачи",
-                            required = true, example = "1")
+                            required = true, example = "1"),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER,
+                            description = "ETag из предыдущего ответа. Если комментарии не менялись, возвращается 304 без тела",
+                            example = "\"3\"")
             },
             responses = {
                     @ApiResponse(
@@ -56,12 +64,22 @@ public class CommentController {
                                     mediaType = "application/json",
                                     schema = @Schema(example = "{\"message\": \"Такой задачи не существует\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Комментарии не изменились с версии из If-None-Match"
                     )
             }
     )
     @GetMapping("/{taskId}")
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable("taskId") long taskId) {
-        return ResponseEntity.status(HttpStatus.OK).body(commentService.getCommentsForTask(taskId));
+    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable("taskId") long taskId, WebRequest request) {
+        // Версия читается до комментариев: тег может оказаться старше списка, но не новее
+        String eTag = new TaskVersionTag(commentService.getCommentsVersion(taskId)).encode();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(commentService.getCommentsForTask(taskId));
     }
 
     @Operation(
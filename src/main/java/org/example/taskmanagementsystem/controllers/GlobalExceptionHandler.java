@@ -2,6 +2,7 @@ package org.example.taskmanagementsystem.controllers;
 
 import org.example.taskmanagementsystem.exception.*;
 import org.example.taskmanagementsystem.util.ApiMessageResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -57,6 +58,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiMessageResponse(ex.getMessage()));
     }
 
+    @ExceptionHandler(TaskImportJobNotFoundException.class)
+    public ResponseEntity<ApiMessageResponse> handleTaskImportJobNotFoundException(TaskImportJobNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiMessageResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<ApiMessageResponse> handleTaskVersionMismatchException(TaskVersionMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ApiMessageResponse(ex.getMessage()));
+    }
+
+    // Задачу изменили между чтением и сохранением: merge сверил версию и отказался перезаписывать
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiMessageResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiMessageResponse("Задача была изменена другим пользователем, обновите данные и повторите запрос"));
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<ApiMessageResponse> handleNoResourceFoundException(NoResourceFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiMessageResponse("Страница не найдена"));
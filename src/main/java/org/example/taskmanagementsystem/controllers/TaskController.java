@@ -1,7 +1,12 @@
 package org.example.taskmanagementsystem.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,9 +14,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.example.taskmanagementsystem.dto.TaskBatchItemResult;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateRequest;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateResponse;
+import org.example.taskmanagementsystem.dto.TaskChangeEvent;
+import org.example.taskmanagementsystem.dto.TaskChangesResponse;
 import org.example.taskmanagementsystem.dto.TaskCreateRequest;
 import org.example.taskmanagementsystem.dto.TaskEditRequest;
+import org.example.taskmanagementsystem.dto.TaskExportFormat;
 import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSliceResponse;
+import org.example.taskmanagementsystem.dto.TaskSortField;
 import org.example.taskmanagementsystem.dto.TaskStatusUpdateRequest;
 import org.example.taskmanagementsystem.models.TaskPriority;
 import org.example.taskmanagementsystem.models.TaskStatus;
@@ -19,21 +33,44 @@ import org.example.taskmanagementsystem.models.User;
 import org.example.taskmanagementsystem.services.TaskService;
 import org.example.taskmanagementsystem.services.UserService;
 import org.example.taskmanagementsystem.util.ApiMessageResponse;
+import org.example.taskmanagementsystem.util.TaskCsvWriter;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/task")
 @Tag(name = "Tasks", description = "API для управления задачами")
 @AllArgsConstructor
 public class TaskController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final TaskService taskService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
@@ -63,12 +100,208 @@ public class TaskController {
         return taskService.getAllTasks();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Получить все задачи потоком",
+            description = "Этот метод отдаёт все задачи в формате NDJSON по мере чтения из базы, не собирая весь список в памяти. Доступен только для пользователей с ролью ADMIN",
+            parameters = {
+                    @Parameter(name = "stream", description = "Включает потоковую выдачу",
+                            required = true, example = "true")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Задачи успешно получены, по одной задаче на строку",
+                            content = @Content(
+                                    mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = TaskResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        StreamingResponseBody body = outputStream -> writeNdjson(outputStream, taskService::streamAllTasks);
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Выгрузить задачи",
+            description = "Этот метод выгружает задачи вместе с исполнителями и комментариями в формате NDJSON или CSV. " +
+                    "Задачи читаются из базы курсором и пишутся в ответ порциями, поэтому размер выгрузки не ограничен памятью сервера. " +
+                    "Фильтры совпадают с фильтрами поиска задач. Доступен только для пользователей с ролью ADMIN",
+            parameters = {
+                    @Parameter(name = "format", description = "Формат выгрузки: ndjson (по одной задаче на строку) или csv",
+                            example = "csv"),
+                    @Parameter(name = "authorId", description = "Идентификатор автора задачи",
+                            example = "1"),
+                    @Parameter(name = "assigneeId", description = "Идентификатор исполнителя задачи",
+                            example = "2"),
+                    @Parameter(name = "status", description = "Статусы задачи, можно передать несколько",
+                            example = "TODO"),
+                    @Parameter(name = "priority", description = "Приоритеты задачи, можно передать несколько",
+                            example = "HIGH"),
+                    @Parameter(name = "gzip", description = "Сжать ответ gzip, ответ придёт с заголовком Content-Encoding: gzip",
+                            example = "true")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Выгрузка успешно сформирована",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/x-ndjson",
+                                            schema = @Schema(implementation = TaskResponse.class)
+                                    ),
+                                    @Content(
+                                            mediaType = "text/csv",
+                                            schema = @Schema(example = "id,title,description,priority,status,version,author,assignees,comments")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Неизвестный формат выгрузки",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Неизвестный формат выгрузки: xml\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        TaskExportFormat exportFormat = TaskExportFormat.decode(format);
+        TaskSearchRequest request = new TaskSearchRequest(authorId, assigneeId, status, priority, TaskSortField.ID, Sort.Direction.ASC);
+
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : null;
+            OutputStream target = compressed != null ? compressed : outputStream;
+
+            if (exportFormat == TaskExportFormat.CSV) {
+                writeCsv(target, consumer -> taskService.exportTasks(request, consumer));
+            } else {
+                writeNdjson(target, consumer -> taskService.exportTasks(request, consumer));
+            }
+
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(exportFormat == TaskExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.name().toLowerCase(Locale.ROOT))
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    @Operation(
+            summary = "Подписаться на изменения задач",
+            description = "Этот метод открывает поток Server-Sent Events. После подключения приходит событие ready, затем события task " +
+                    "о создании, изменении, смене статуса, удалении задач и новых комментариях. Администратор получает события по всем задачам, " +
+                    "пользователь — только по назначенным ему. Пользователь, снятый с задачи, получает событие UNASSIGNED. Клиент, не успевающий читать события, отключается и после переподключения должен перечитать задачи",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Подписка открыта",
+                            content = @Content(
+                                    mediaType = "text/event-stream",
+                                    schema = @Schema(implementation = TaskChangeEvent.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Доступ запрещён, пожалуйста авторизируйтесь\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges() {
+        return taskService.subscribeToChanges();
+    }
+
+    @Operation(
+            summary = "Получить изменения задач с ревизии",
+            description = "Этот метод возвращает задачи, изменённые после ревизии since, вместе с исполнителями и комментариями, " +
+                    "а также айди задач, которые нужно убрать у клиента: удалённых или снятых с пользователя. " +
+                    "Администратор получает изменения всех задач, пользователь — только назначенных ему. " +
+                    "Без since возвращается только текущая ревизия: её нужно запомнить до первой полной загрузки задач. " +
+                    "Следующий запрос выполняется с since из поля revision ответа",
+            parameters = {
+                    @Parameter(name = "since", description = "Ревизия из предыдущего ответа", example = "120"),
+                    @Parameter(name = "size", description = "Максимальное количество задач в ответе, от 1 до 500", example = "100")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Изменения успешно получены",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskChangesResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректная ревизия или размер страницы",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "Размер страницы должен быть от 1 до 500")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "100") int size) {
+        TaskChangesResponse changes = taskService.getTaskChanges(since, size);
+        return ResponseEntity.status(HttpStatus.OK).body(changes);
+    }
+
     @Operation(
             summary = "Получить задачу по ID",
-            description = "Этот метод позволяет получить задачу по её идентификатору. Доступен только для пользователей с ролью ADMIN и исполнителей задачи",
+            description = "Этот метод позволяет получить задачу по её идентификатору. Доступен только для пользователей с ролью ADMIN и исполнителей задачи. " +
+                    "Кроме JSON ответ отдаётся в CBOR (Accept: application/cbor) или Smile (Accept: application/x-jackson-smile)",
             parameters = {
                     @Parameter(name = "id", description = "Идентификатор задачи",
-                            required = true, example = "1")
+                            required = true, example = "1"),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER,
+                            description = "ETag из предыдущего ответа. Если задача не менялась, возвращается 304 без тела",
+                            example = "\"3\"")
             },
             responses = {
                     @ApiResponse(
@@ -94,12 +327,23 @@ public class TaskController {
                                     mediaType = "application/json",
                                     schema = @Schema(example = "{\"message\": \"Такой задачи не существует\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Задача не изменилась с версии из If-None-Match"
                     )
             }
     )
     @GetMapping("/{id}")
-    public TaskResponse getTask(@PathVariable Long id) {
-        return taskService.getTaskById(id);
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id, WebRequest request) {
+        // Для опроса с If-None-Match сначала сверяется только версия, ответ собирается лишь при изменениях
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(new TaskVersionTag(taskService.getTaskVersion(id)).encode())) {
+            return null;
+        }
+
+        TaskResponse task = taskService.getTaskById(id);
+        return ResponseEntity.status(HttpStatus.OK).eTag(new TaskVersionTag(task.getVersion()).encode()).varyBy(HttpHeaders.ACCEPT).body(task);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -159,13 +403,99 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new ApiMessageResponse("Задача успешно создана"));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Создать несколько задач",
+            description = "Этот метод позволяет создать до 1000 задач за один запрос. Результат возвращается по каждой задаче " +
+                    "в порядке запроса: ошибка в одной задаче не мешает созданию остальных. Доступен только для пользователей с ролью ADMIN",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Список задач для создания",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TaskCreateRequest.class)),
+                            examples = @ExampleObject(
+                                    name = "Пример запроса",
+                                    value = """
+                                    [
+                                        {
+                                            "title": "Первая задача",
+                                            "description": "Описание задачи",
+                                            "priority": "HIGH",
+                                            "assigneeIds": [1, 2]
+                                        },
+                                        {
+                                            "title": "Вторая задача",
+                                            "description": "Описание задачи",
+                                            "priority": "LOW",
+                                            "assigneeIds": [3]
+                                        }
+                                    ]
+                                    """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Результат создания по каждой задаче",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskBatchItemResult.class)),
+                                    examples = @ExampleObject(
+                                            value = """
+                                            [
+                                                {
+                                                    "index": 0,
+                                                    "success": true,
+                                                    "taskId": 101,
+                                                    "message": "Задача успешно создана"
+                                                },
+                                                {
+                                                    "index": 1,
+                                                    "success": false,
+                                                    "taskId": null,
+                                                    "message": "Не найдено ни одного пользователя для назначения задачи"
+                                                }
+                                            ]
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком большой список задач",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"За один запрос можно создать не более 1000 задач\"}")
+                            )
+                    )
+            }
+    )
+    @PostMapping("/batch")
+    public List<TaskBatchItemResult> createTasks(@RequestBody List<TaskCreateRequest> taskCreateRequests) {
+        User author = userService.getCurrentUser();
+        return taskService.createTasks(taskCreateRequests, author);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
             summary = "Изменить существующую задачу",
             description = "Этот метод позволяет изменить существующую задачу. Доступен только для пользователей с ролью ADMIN",
             parameters = {
                     @Parameter(name = "id", description = "Идентификатор задачи",
-                            required = true, example = "1")
+                            required = true, example = "1"),
+                    @Parameter(name = "If-Match", in = ParameterIn.HEADER,
+                            description = "ETag задачи из GET /task/{id}. Если задача успела измениться, возвращается 412",
+                            example = "\"3\"")
             },
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Данные для изменения задачи",
@@ -211,12 +541,32 @@ public class TaskController {
                                     mediaType = "application/json",
                                     schema = @Schema(example = "{\"message\": \"Такой задачи не существует\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Версия из If-Match устарела",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Задача была изменена другим пользователем, обновите данные и повторите запрос\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Задача была изменена параллельным запросом во время сохранения",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Задача была изменена другим пользователем, обновите данные и повторите запрос\"}")
+                            )
                     )
             }
     )
     @PatchMapping("/edit/{id}")
-    public ResponseEntity<?> editTask(@PathVariable Long id, @Valid @RequestBody TaskEditRequest taskEditRequest) {
-        taskService.editTask(id, taskEditRequest);
+    public ResponseEntity<?> editTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskEditRequest taskEditRequest
+    ) {
+        taskService.editTask(id, taskEditRequest, TaskVersionTag.decode(ifMatch));
         return ResponseEntity.status(HttpStatus.OK).body(new ApiMessageResponse("Задача успешно изменена"));
     }
 
@@ -378,12 +728,203 @@ public class TaskController {
     }
 
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Получить задачи определённого автора по курсору",
+            description = "Этот метод позволяет получить список задач существующего автора постранично по курсору, без подсчёта общего количества. Доступен только для пользователей с ролью ADMIN",
+            parameters = {
+                    @Parameter(name = "authorId", description = "Идентификатор автора",
+                            required = true, example = "1"),
+                    @Parameter(name = "after", description = "Курсор из поля nextCursor предыдущей страницы",
+                            required = false),
+                    @Parameter(name = "size", description = "Количество задач на страницу",
+                            required = true, example = "10"),
+                    @Parameter(name = "priority", description = "Критерий для фильтрации задач",
+                            required = false, example = "HIGH"),
+                    @Parameter(name = "status", description = "Критерий для фильтрации задач",
+                            required = false, example = "TODO")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Список задач успешно получен",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskSliceResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректный курсор",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "Некорректный курсор")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Указанный пользователь не найден",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Такого пользователя не существует\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Пользователь по которому идёт поиск не является админом",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Данный пользователь не является администратором и не может создавать задачи\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/author/cursor")
+    public ResponseEntity<TaskSliceResponse> getTasksByAuthorAfter(
+            @RequestParam long authorId,
+            @RequestParam(required = false) String after,
+            @RequestParam int size,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) TaskStatus status) {
+        TaskSliceResponse tasks = taskService.getTasksByAuthorAfter(authorId, priority, status, after, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
+    @Operation(
+            summary = "Получить задачи определённого исполнителя по курсору",
+            description = "Этот метод позволяет получить список задач существующего исполнителя постранично по курсору, без подсчёта общего количества. Доступен только для пользователей с ролью ADMIN и для просмотра собственных задач исполнителем.",
+            parameters = {
+                    @Parameter(name = "assigneeId", description = "Идентификатор исполнителя",
+                            required = true, example = "1"),
+                    @Parameter(name = "after", description = "Курсор из поля nextCursor предыдущей страницы",
+                            required = false),
+                    @Parameter(name = "size", description = "Количество задач на страницу",
+                            required = true, example = "10"),
+                    @Parameter(name = "priority", description = "Критерий для фильтрации задач",
+                            required = false, example = "HIGH"),
+                    @Parameter(name = "status", description = "Критерий для фильтрации задач",
+                            required = false, example = "TODO")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Список задач успешно получен",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskSliceResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректный курсор",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "Некорректный курсор")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN или исполнитель указал чужой айди",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на просмотр данной информации\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Указанный пользователь не найден",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Такого пользователя не существует\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/assignee/cursor")
+    public ResponseEntity<TaskSliceResponse> getTasksByAssigneeAfter(
+            @RequestParam long assigneeId,
+            @RequestParam(required = false) String after,
+            @RequestParam int size,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) TaskStatus status
+    ) {
+        TaskSliceResponse tasks = taskService.getTasksByAssigneeAfter(assigneeId, priority, status, after, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
+    @Operation(
+            summary = "Поиск задач",
+            description = "Этот метод позволяет искать задачи по любому сочетанию автора, исполнителя, статусов и приоритетов с сортировкой по айди или приоритету. Администратор ищет по всем задачам, пользователь — только по задачам, где он исполнитель",
+            parameters = {
+                    @Parameter(name = "authorId", description = "Идентификатор автора",
+                            required = false, example = "1"),
+                    @Parameter(name = "assigneeId", description = "Идентификатор исполнителя",
+                            required = false, example = "2"),
+                    @Parameter(name = "status", description = "Один или несколько статусов",
+                            required = false, example = "TODO,IN_PROGRESS"),
+                    @Parameter(name = "priority", description = "Один или несколько приоритетов",
+                            required = false, example = "HIGH"),
+                    @Parameter(name = "sort", description = "Поле сортировки: ID или PRIORITY",
+                            required = false, example = "PRIORITY"),
+                    @Parameter(name = "direction", description = "Направление сортировки: ASC или DESC",
+                            required = false, example = "DESC"),
+                    @Parameter(name = "page", description = "Номер страницы",
+                            required = true, example = "0"),
+                    @Parameter(name = "size", description = "Количество задач на страницу",
+                            required = true, example = "10")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Список задач успешно получен",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь указал чужой айди исполнителя",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на просмотр данной информации\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<Page<TaskResponse>> searchTasks(
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(defaultValue = "ID") TaskSortField sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam int page,
+            @RequestParam int size
+    ) {
+        TaskSearchRequest request = new TaskSearchRequest(authorId, assigneeId, status, priority, sort, direction);
+        Page<TaskResponse> tasks = taskService.searchTasks(request, page, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
     @Operation(
             summary = "Изменить статус задачи",
             description = "Этот метод позволяет изменить статус задачи по идентификатору. Доступен для пользователей с ролью ADMIN и исполнителей задачи",
             parameters = {
                     @Parameter(name = "id", description = "Идентификатор задачи",
-                            required = true, example = "1")
+                            required = true, example = "1"),
+                    @Parameter(name = "If-Match", in = ParameterIn.HEADER,
+                            description = "ETag задачи из GET /task/{id}. Если задача успела измениться, возвращается 412",
+                            example = "\"3\"")
             },
             responses = {
                     @ApiResponse(
@@ -409,15 +950,124 @@ public class TaskController {
                                     mediaType = "application/json",
                                     schema = @Schema(example = "{\"message\": \"Такой задачи не существует\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Версия из If-Match устарела",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Задача была изменена другим пользователем, обновите данные и повторите запрос\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Задача была изменена параллельным запросом во время сохранения",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Задача была изменена другим пользователем, обновите данные и повторите запрос\"}")
+                            )
                     )
             }
     )
     @PatchMapping("/status/{id}")
     public ResponseEntity<ApiMessageResponse> updateTaskStatus(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskStatusUpdateRequest taskStatusUpdateRequest
     ) {
-        taskService.updateTaskStatus(id, taskStatusUpdateRequest.getStatus());
+        taskService.updateTaskStatus(id, taskStatusUpdateRequest.getStatus(), TaskVersionTag.decode(ifMatch));
         return ResponseEntity.status(HttpStatus.OK).body(new ApiMessageResponse("Статус задачи успешно изменён"));
     }
+
+    @Operation(
+            summary = "Изменить статус нескольких задач",
+            description = "Этот метод позволяет изменить статус до 1000 задач за один запрос. Права проверяются для каждой задачи: " +
+                    "администратор может изменить любую задачу, пользователь — только те, где он исполнитель. " +
+                    "В ответе перечислены изменённые задачи, задачи без доступа и несуществующие задачи",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Идентификаторы задач и новый статус",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBulkStatusUpdateRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Пример запроса",
+                                    value = """
+                                    {
+                                        "ids": [1, 2, 3],
+                                        "status": "COMPLETED"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Результат изменения статусов",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskBulkStatusUpdateResponse.class),
+                                    examples = @ExampleObject(
+                                            value = """
+                                            {
+                                                "updatedIds": [1, 2],
+                                                "deniedIds": [3],
+                                                "notFoundIds": []
+                                            }
+                                            """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректные данные в запросе",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"ids\": \"Необходимо указать как минимум одну задачу\"}")
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/status")
+    public ResponseEntity<TaskBulkStatusUpdateResponse> updateTaskStatuses(
+            @Valid @RequestBody TaskBulkStatusUpdateRequest taskBulkStatusUpdateRequest
+    ) {
+        TaskBulkStatusUpdateResponse response = taskService.updateTaskStatuses(
+                taskBulkStatusUpdateRequest.getIds(), taskBulkStatusUpdateRequest.getStatus());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    private void writeNdjson(OutputStream outputStream, Consumer<Consumer<TaskResponse>> tasks) throws IOException {
+        SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream);
+
+        tasks.accept(task -> {
+            try {
+                writer.write(task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+    }
+
+    private void writeCsv(OutputStream outputStream, Consumer<Consumer<TaskResponse>> tasks) throws IOException {
+        TaskCsvWriter writer = new TaskCsvWriter(
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE));
+        writer.writeHeader();
+
+        tasks.accept(task -> {
+            try {
+                writer.write(task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+    }
 }
@@ -0,0 +1,142 @@
+package org.example.taskmanagementsystem.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.example.taskmanagementsystem.dto.TaskImportResponse;
+import org.example.taskmanagementsystem.services.TaskImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@Tag(name = "Task import", description = "API для массового импорта задач")
+@AllArgsConstructor
+@RequestMapping("/task/import")
+public class TaskImportController {
+    private final TaskImportService taskImportService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Импортировать задачи из NDJSON",
+            description = "Этот метод загружает задачи с комментариями из файла NDJSON, по одной задаче на строку. " +
+                    "Исполнители и авторы указываются по email, задачи и комментарии проверяются по тем же правилам, что и при создании. " +
+                    "Файл обрабатывается порциями, после каждой порции сохраняется номер обработанной строки. " +
+                    "Если импорт прервался, тот же файл можно загрузить повторно с параметром jobId, и импорт продолжится с места остановки. " +
+                    "Доступен только для пользователей с ролью ADMIN",
+            parameters = {
+                    @Parameter(name = "jobId", description = "Идентификатор прерванного импорта, который нужно продолжить",
+                            example = "1"),
+                    @Parameter(name = "Content-Encoding", in = ParameterIn.HEADER,
+                            description = "gzip, если файл сжат",
+                            example = "gzip")
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Задачи, по одной на строку",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(value = "{\"title\": \"Задача\", \"description\": \"Описание\", \"priority\": \"HIGH\", " +
+                                    "\"status\": \"IN_PROGRESS\", \"authorEmail\": \"admin@example.com\", \"assigneeEmails\": [\"user@example.com\"], " +
+                                    "\"comments\": [{\"authorEmail\": \"user@example.com\", \"content\": \"Комментарий\"}]}")
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Импорт завершён, строки с ошибками перечислены в errors (не более 100)",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskImportResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Импорт с указанным jobId уже завершён",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Импорт с айди 1 уже завершён\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Импорт с указанным jobId не найден",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Импорт с айди 1 не найден\"}")
+                            )
+                    )
+            }
+    )
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @RequestParam(required = false) Long jobId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body
+    ) throws IOException {
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        return ResponseEntity.status(HttpStatus.OK).body(taskImportService.importTasks(input, jobId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Получить состояние импорта",
+            description = "Этот метод возвращает состояние импорта: статус, число обработанных строк, импортированных задач и комментариев. " +
+                    "Доступен только для пользователей с ролью ADMIN",
+            parameters = {
+                    @Parameter(name = "jobId", description = "Идентификатор импорта",
+                            required = true, example = "1")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Состояние импорта успешно получено",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskImportResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Доступ запрещён, пользователь не имеет прав ADMIN",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"У вас нет прав на выполнение данной операции\"}")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Импорт не найден",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"message\": \"Импорт с айди 1 не найден\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<TaskImportResponse> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.OK).body(taskImportService.getImportJob(jobId));
+    }
+}
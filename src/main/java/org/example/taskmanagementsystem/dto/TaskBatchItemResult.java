@@ -0,0 +1,15 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskBatchItemResult {
+    private int index;
+    private boolean success;
+    private Long taskId;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package org.example.taskmanagementsystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskBulkStatusUpdateRequest {
+    @NotEmpty(message = "Необходимо указать как минимум одну задачу")
+    @Size(max = 1000, message = "За один запрос можно изменить не более 1000 задач")
+    private Set<Long> ids;
+
+    @NotNull(message = "Необходимо выбрать статус задачи")
+    private TaskStatus status;
+}
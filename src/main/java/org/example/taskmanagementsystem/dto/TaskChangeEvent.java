@@ -0,0 +1,15 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskChangeEvent {
+    private Long taskId;
+    private TaskChangeType type;
+    private TaskStatus status;
+}
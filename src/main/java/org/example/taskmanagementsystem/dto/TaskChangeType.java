@@ -0,0 +1,11 @@
+package org.example.taskmanagementsystem.dto;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED,
+    COMMENTED,
+    // Только для подписчиков SSE: пользователь снят с задачи и больше её не видит
+    UNASSIGNED
+}
@@ -0,0 +1,17 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskResponse> tasks;
+    private List<Long> removedTaskIds;
+    private long revision;
+    private boolean hasMore;
+}
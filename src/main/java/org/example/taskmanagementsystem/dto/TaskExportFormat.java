@@ -0,0 +1,16 @@
+package org.example.taskmanagementsystem.dto;
+
+import java.util.Locale;
+
+public enum TaskExportFormat {
+    NDJSON,
+    CSV;
+
+    public static TaskExportFormat decode(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестный формат выгрузки: " + value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportComment {
+    private String authorEmail;
+    private String content;
+}
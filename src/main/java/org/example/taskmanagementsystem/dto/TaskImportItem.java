@@ -0,0 +1,25 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+import java.util.List;
+import java.util.Set;
+
+// Строка файла импорта. Пользователи указываются по email, статус по умолчанию TODO,
+// автор по умолчанию — администратор, запустивший импорт. Указанный автор тоже должен быть администратором
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportItem {
+    private String title;
+    private String description;
+    private TaskPriority priority;
+    private TaskStatus status;
+    private String authorEmail;
+    private Set<String> assigneeEmails;
+    private List<TaskImportComment> comments;
+}
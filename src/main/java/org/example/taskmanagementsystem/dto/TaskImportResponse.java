@@ -0,0 +1,22 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.models.TaskImportStatus;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportResponse {
+    private Long jobId;
+    private TaskImportStatus status;
+    private long processedLines;
+    private long importedTasks;
+    private long importedComments;
+    private long failedLines;
+    private String error;
+    private List<TaskImportLineError> errors;
+}
@@ -23,4 +23,5 @@ public class TaskResponse {
     private List<CommentResponse> comments;
     private Set<UserResponse> assignees;
     private UserResponse author;
+    private Long version;
 }
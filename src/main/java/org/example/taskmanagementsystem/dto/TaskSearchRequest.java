@@ -0,0 +1,22 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskSearchRequest {
+    private Long authorId;
+    private Long assigneeId;
+    private Set<TaskStatus> statuses;
+    private Set<TaskPriority> priorities;
+    private TaskSortField sort = TaskSortField.ID;
+    private Sort.Direction direction = Sort.Direction.ASC;
+}
@@ -0,0 +1,16 @@
+package org.example.taskmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskSliceResponse {
+    private List<TaskResponse> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
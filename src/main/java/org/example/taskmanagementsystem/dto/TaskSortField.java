@@ -0,0 +1,6 @@
+package org.example.taskmanagementsystem.dto;
+
+public enum TaskSortField {
+    ID,
+    PRIORITY
+}
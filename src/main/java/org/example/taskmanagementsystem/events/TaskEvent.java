@@ -0,0 +1,63 @@
+package org.example.taskmanagementsystem.events;
+
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+// Событие журнала в двоичном виде фиксированной длины:
+// метка записи, тип, статус, айди события из outbox, айди задачи, айди автора изменения, время и CRC32.
+// Перечисления хранятся порядковыми номерами, поэтому новые значения добавляются только в конец.
+// offset заполняется при чтении из журнала, у нового события он равен -1
+public record TaskEvent(long offset, long eventId, TaskChangeType type, long taskId, Long actorId,
+                        TaskStatus status, Instant occurredAt) {
+    public static final int SIZE = 40;
+
+    private static final byte WRITTEN = 1;
+    private static final int CHECKSUM_POSITION = SIZE - Integer.BYTES;
+    private static final long NO_ACTOR = -1;
+
+    public TaskEvent(long eventId, TaskChangeType type, long taskId, Long actorId, TaskStatus status, Instant occurredAt) {
+        this(-1, eventId, type, taskId, actorId, status, occurredAt);
+    }
+
+    void writeTo(ByteBuffer buffer, int position) {
+        ByteBuffer record = buffer.slice(position, SIZE);
+        record.put(1, (byte) type.ordinal());
+        record.put(2, (byte) (status != null ? status.ordinal() + 1 : 0));
+        record.putLong(4, eventId);
+        record.putLong(12, taskId);
+        record.putLong(20, actorId != null ? actorId : NO_ACTOR);
+        record.putLong(28, occurredAt.toEpochMilli());
+        // Запись без метки или с неверной суммой при восстановлении считается недописанной
+        record.put(0, WRITTEN);
+        record.putInt(CHECKSUM_POSITION, checksum(record));
+    }
+
+    // null, если по этой позиции запись не дописана
+    static TaskEvent readFrom(ByteBuffer buffer, int position, long offset) {
+        ByteBuffer record = buffer.slice(position, SIZE);
+        if (record.get(0) != WRITTEN || record.getInt(CHECKSUM_POSITION) != checksum(record)) {
+            return null;
+        }
+
+        byte status = record.get(2);
+        long actorId = record.getLong(20);
+        return new TaskEvent(
+                offset,
+                record.getLong(4),
+                TaskChangeType.values()[record.get(1)],
+                record.getLong(12),
+                actorId != NO_ACTOR ? actorId : null,
+                status != 0 ? TaskStatus.values()[status - 1] : null,
+                Instant.ofEpochMilli(record.getLong(28)));
+    }
+
+    private static int checksum(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.slice(0, CHECKSUM_POSITION));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.taskmanagementsystem.events;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Локальный журнал событий задач из сегментов фиксированного размера, отображённых в память.
+// Смещение события — его порядковый номер в журнале, файл сегмента назван смещением первого события.
+// Пишет только ретранслятор outbox, читать по смещению можно из любого потока.
+// После перезапуска конец журнала находится по первой недописанной записи последнего сегмента.
+// Хранение ограничено только размером: при переходе на новый сегмент старые сверх max-segments удаляются,
+// даже если читатель до них не дошёл. Журнал не хранит смещения читателей, отставший читатель сам замечает
+// пропуск: первое прочитанное смещение больше запрошенного, и тогда перечитывает состояние из базы
+@Component
+public class TaskEventLog {
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int eventsPerSegment;
+    private final int maxSegments;
+
+    private final ConcurrentNavigableMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private MappedByteBuffer active;
+    private long activeBaseOffset;
+    // Запись события публикуется читателям увеличением nextOffset
+    private volatile long nextOffset;
+
+    public TaskEventLog(@Value("${task.event-log.directory:data/task-events}") Path directory,
+                        @Value("${task.event-log.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${task.event-log.max-segments:16}") int maxSegments) {
+        this.directory = directory;
+        this.eventsPerSegment = (int) Math.min(segmentSize.toBytes() / TaskEvent.SIZE, Integer.MAX_VALUE / TaskEvent.SIZE);
+        this.maxSegments = maxSegments;
+
+        if (eventsPerSegment < 1 || maxSegments < 1) {
+            throw new IllegalArgumentException("Сегмент журнала должен вмещать хотя бы одно событие");
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть журнал событий " + directory, e);
+        }
+    }
+
+    public synchronized long append(TaskEvent event) {
+        if (nextOffset - activeBaseOffset == eventsPerSegment) {
+            roll();
+        }
+
+        event.writeTo(active, (int) (nextOffset - activeBaseOffset) * TaskEvent.SIZE);
+        return nextOffset++;
+    }
+
+    // Сбрасывает записанные события на диск. Вызывается ретранслятором перед удалением событий из outbox
+    public synchronized void flush() {
+        active.force();
+    }
+
+    // Возвращает события по порядку смещений. Повреждённая запись пропускается, поэтому смещения могут идти с разрывами
+    public List<TaskEvent> read(long fromOffset, int maxEvents) {
+        long endOffset = nextOffset;
+        List<TaskEvent> events = new ArrayList<>();
+
+        long offset = Math.max(fromOffset, firstOffset());
+        while (offset < endOffset && events.size() < maxEvents) {
+            Map.Entry<Long, MappedByteBuffer> segment = segments.floorEntry(offset);
+            if (segment == null) {
+                // Сегмент удалён по ограничению размера, пока шло чтение
+                offset = firstOffset();
+                continue;
+            }
+
+            TaskEvent event = TaskEvent.readFrom(segment.getValue(), (int) (offset - segment.getKey()) * TaskEvent.SIZE, offset);
+            if (event != null) {
+                events.add(event);
+            }
+            offset++;
+        }
+
+        return events;
+    }
+
+    public long firstOffset() {
+        return segments.firstKey();
+    }
+
+    public long nextOffset() {
+        return nextOffset;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        active.force();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), map(file));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segments.put(0L, map(segmentPath(0)));
+        }
+
+        activeBaseOffset = segments.lastKey();
+        active = segments.lastEntry().getValue();
+
+        int written = 0;
+        while (written < eventsPerSegment && TaskEvent.readFrom(active, written * TaskEvent.SIZE, activeBaseOffset + written) != null) {
+            written++;
+        }
+        nextOffset = activeBaseOffset + written;
+    }
+
+    private void roll() {
+        active.force();
+
+        try {
+            active = map(segmentPath(nextOffset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать сегмент журнала событий", e);
+        }
+        activeBaseOffset = nextOffset;
+        segments.put(activeBaseOffset, active);
+
+        while (segments.size() > maxSegments) {
+            long oldest = segments.pollFirstEntry().getKey();
+            try {
+                Files.deleteIfExists(segmentPath(oldest));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось удалить сегмент журнала событий", e);
+            }
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) eventsPerSegment * TaskEvent.SIZE);
+        }
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+}
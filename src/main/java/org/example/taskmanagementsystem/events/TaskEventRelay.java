@@ -0,0 +1,64 @@
+package org.example.taskmanagementsystem.events;
+
+import org.example.taskmanagementsystem.models.TaskOutboxEvent;
+import org.example.taskmanagementsystem.repositories.TaskOutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Переносит события из outbox в журнал. Событие удаляется из таблицы только после сброса журнала на диск,
+// поэтому при сбое между сбросом и удалением оно попадёт в журнал повторно: читатели отбрасывают дубли по eventId.
+// Рассчитан на один работающий экземпляр приложения, как и сам локальный журнал
+@Component
+public class TaskEventRelay {
+    private final TaskOutboxEventRepository taskOutboxEventRepository;
+    private final TaskEventLog taskEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TaskEventRelay(TaskOutboxEventRepository taskOutboxEventRepository,
+                          TaskEventLog taskEventLog,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${task.event-log.relay-batch-size:500}") int batchSize) {
+        this.taskOutboxEventRepository = taskOutboxEventRepository;
+        this.taskEventLog = taskEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${task.event-log.relay-interval:1s}")
+    public void relay() {
+        lock.lock();
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int relayBatch() {
+        List<TaskOutboxEvent> events = taskOutboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        for (TaskOutboxEvent event : events) {
+            taskEventLog.append(new TaskEvent(event.getId(), event.getType(), event.getTaskId(), event.getActorId(),
+                    event.getStatus(), event.getCreatedAt()));
+        }
+        taskEventLog.flush();
+
+        taskOutboxEventRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+}
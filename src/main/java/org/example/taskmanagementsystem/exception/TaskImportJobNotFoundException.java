@@ -0,0 +1,7 @@
+package org.example.taskmanagementsystem.exception;
+
+public class TaskImportJobNotFoundException extends RuntimeException {
+    public TaskImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.taskmanagementsystem.exception;
+
+public class TaskVersionMismatchException extends RuntimeException {
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.taskmanagementsystem.metrics;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+// Тело StreamingResponseBody и Callable выполняется в потоке асинхронного исполнителя MVC. Перед запуском ему
+// передаются счётчик SQL-запросов и traceId, которые RequestMetricsFilter сохранил в атрибутах запроса.
+// preProcess и postProcess вызываются в том же потоке, что и само тело
+public class RequestContextCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(RequestMetricsFilter.STATEMENTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestStatements statements) {
+            RequestStatements.attach(statements);
+        }
+        if (request.getAttribute(RequestMetricsFilter.TRACE_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof String traceId) {
+            MDC.put(RequestMetricsFilter.TRACE_ID_KEY, traceId);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestStatements.stop();
+        MDC.remove(RequestMetricsFilter.TRACE_ID_KEY);
+    }
+}
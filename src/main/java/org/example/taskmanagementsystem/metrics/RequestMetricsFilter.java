@@ -0,0 +1,126 @@
+package org.example.taskmanagementsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Число и время SQL-запросов на каждый HTTP-запрос с теми же тегами method и uri, что у http.server.requests.
+// Идентификатор трассировки берётся из traceparent или создаётся заново, попадает в MDC и заголовок X-Trace-Id.
+// У асинхронных ответов (выгрузки, SSE) тело пишется в другом потоке: счётчик и traceId передаёт ему
+// RequestContextCallableInterceptor, а метрики записываются после завершения ответа
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACE_ID_KEY = "traceId";
+    public static final String STATEMENTS_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".statements";
+    public static final String TRACE_ID_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".traceId";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    private final MeterRegistry registry;
+    private final int statementBudget;
+
+    public RequestMetricsFilter(MeterRegistry registry, int statementBudget) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = traceId(request.getHeader("traceparent"));
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        MDC.put(TRACE_ID_KEY, traceId);
+
+        RequestStatements statements = RequestStatements.start();
+        request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+        request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements.stop();
+            MDC.remove(TRACE_ID_KEY);
+
+            String method = request.getMethod();
+            String uri = uri(request);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    // Вызывается и после таймаута или ошибки
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(method, uri, statements, traceId);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(method, uri, statements, traceId);
+            }
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private void record(String method, String uri, RequestStatements statements, String traceId) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(registry)
+                .record(statements.count());
+        Timer.builder("http.server.requests.sql.time")
+                .tags(tags)
+                .register(registry)
+                .record(statements.nanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && statements.count() > statementBudget) {
+            log.warn("{} {} выполнил {} SQL-запросов при бюджете {}, traceId={}",
+                    method, uri, statements.count(), statementBudget, traceId);
+        }
+    }
+
+    private static String traceId(String traceparent) {
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+            if (matcher.matches()) {
+                return matcher.group(1);
+            }
+        }
+
+        byte[] bytes = new byte[16];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.taskmanagementsystem.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// SQL-запросы текущего HTTP-запроса: число обращений к базе и время их выполнения.
+// Заполняется StatementCountingListener в потоке запроса и в потоках, которым запрос передал счётчик
+// через propagate. Пакетная вставка считается одним обращением
+public final class RequestStatements {
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private RequestStatements() {
+    }
+
+    public static RequestStatements start() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    // Продолжает счёт уже начатого запроса в другом потоке, например в теле асинхронного ответа
+    public static void attach(RequestStatements statements) {
+        CURRENT.set(statements);
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Задача, выполненная в другом потоке, засчитывает свои запросы текущему HTTP-запросу
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestStatements statements = CURRENT.get();
+        if (statements == null) {
+            return task;
+        }
+
+        return () -> {
+            RequestStatements previous = CURRENT.get();
+            CURRENT.set(statements);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    static void record(long nanos) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.count.incrementAndGet();
+            statements.nanos.addAndGet(nanos);
+        }
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    public long nanos() {
+        return nanos.get();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.taskmanagementsystem.metrics;
+
+import org.hibernate.SessionEventListener;
+
+// Подключается к каждой сессии Hibernate через hibernate.session.events.auto.
+// Сессия работает в одном потоке, поэтому время начала хранится в обычном поле
+public class StatementCountingListener implements SessionEventListener {
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestStatements.record(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestStatements.record(System.nanoTime() - startedAt);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.taskmanagementsystem.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Запись журнала изменений задач. Айди записи служит ревизией для дельта-синхронизации.
+// Изменение видно всем, у кого есть доступ к задаче. Запись об удалении (removed) без пользователя
+// адресована администраторам, с пользователем — исполнителю, который потерял доступ к задаче
+@Entity
+@Data
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_task_change_user_removed_revision", columnList = "user_id, removed, revision"))
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "task_change_seq", allocationSize = 50)
+    private Long revision;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private boolean removed;
+
+    public TaskChange(Long taskId, Long userId, boolean removed) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.removed = removed;
+    }
+}
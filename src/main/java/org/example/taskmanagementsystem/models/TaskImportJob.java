@@ -0,0 +1,51 @@
+package org.example.taskmanagementsystem.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Состояние импорта задач. processedLines обновляется в транзакции каждой порции вместе с её задачами,
+// поэтому повторный запуск продолжает со строки, следующей за последней сохранённой порцией
+@Entity
+@Data
+@NoArgsConstructor
+public class TaskImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 15, nullable = false)
+    private TaskImportStatus status = TaskImportStatus.RUNNING;
+
+    // Автор задач, для которых в файле не указан authorEmail
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    private long processedLines;
+
+    private long importedTasks;
+
+    private long importedComments;
+
+    private long failedLines;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public TaskImportJob(Long authorId) {
+        this.authorId = authorId;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.taskmanagementsystem.models;
+
+public enum TaskImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,45 @@
+package org.example.taskmanagementsystem.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+
+import java.time.Instant;
+
+// Событие об изменении задачи, записанное в транзакции изменения. Ретранслятор переносит его в журнал событий
+// и удаляет из таблицы
+@Entity
+@Data
+@NoArgsConstructor
+public class TaskOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_event_seq")
+    @SequenceGenerator(name = "task_outbox_event_seq", sequenceName = "task_outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private TaskChangeType type;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 15)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    public TaskOutboxEvent(TaskChangeType type, Long taskId, Long actorId, TaskStatus status) {
+        this.type = type;
+        this.taskId = taskId;
+        this.actorId = actorId;
+        this.status = status;
+    }
+}
@@ -1,10 +1,19 @@
 package org.example.taskmanagementsystem.repositories;
 
 import org.example.taskmanagementsystem.models.Comment;
+import org.example.taskmanagementsystem.repositories.projections.TaskCommentRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTaskId(Long id);
-}
\ No newline at end of file
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.task.id = :taskId ORDER BY c.id")
+    List<Comment> findByTaskId(@Param("taskId") Long id);
+
+    @Query("SELECT new org.example.taskmanagementsystem.repositories.projections.TaskCommentRow(c.task.id, c.id, c.content, a.email) " +
+            "FROM Comment c JOIN c.author a WHERE c.task.id IN :taskIds ORDER BY c.id")
+    List<TaskCommentRow> findRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,40 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.models.TaskChange;
+import org.example.taskmanagementsystem.repositories.projections.TaskRevisionRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// Каждая задача отдаётся один раз, по последней ревизии в диапазоне. Удалённые задачи не проходят соединение с Task
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+    String SELECT_CHANGED_TASK = "SELECT new org.example.taskmanagementsystem.repositories.projections.TaskRevisionRow(c.taskId, MAX(c.revision)) " +
+            "FROM TaskChange c JOIN Task t ON t.id = c.taskId ";
+
+    String SELECT_REMOVED_TASK = "SELECT new org.example.taskmanagementsystem.repositories.projections.TaskRevisionRow(c.taskId, MAX(c.revision)) " +
+            "FROM TaskChange c ";
+
+    String IN_REVISION_RANGE = "c.revision > :since AND c.revision <= :until ";
+
+    String GROUP_BY_TASK = "GROUP BY c.taskId ORDER BY MAX(c.revision)";
+
+    @Query(SELECT_CHANGED_TASK + "WHERE c.removed = false AND " + IN_REVISION_RANGE + GROUP_BY_TASK)
+    List<TaskRevisionRow> findChangedTasks(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+    @Query(SELECT_CHANGED_TASK + "JOIN t.assignees u WHERE u.id = :userId AND c.removed = false AND " + IN_REVISION_RANGE + GROUP_BY_TASK)
+    List<TaskRevisionRow> findChangedTasksByAssigneeId(@Param("userId") Long userId, @Param("since") long since,
+                                                       @Param("until") long until, Pageable pageable);
+
+    @Query(SELECT_REMOVED_TASK + "WHERE c.userId IS NULL AND c.removed = true AND " + IN_REVISION_RANGE + GROUP_BY_TASK)
+    List<TaskRevisionRow> findDeletedTasks(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+    @Query(SELECT_REMOVED_TASK + "WHERE c.userId = :userId AND c.removed = true AND " + IN_REVISION_RANGE + GROUP_BY_TASK)
+    List<TaskRevisionRow> findRemovedTasksByUserId(@Param("userId") Long userId, @Param("since") long since,
+                                                   @Param("until") long until, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.revision), 0) FROM TaskChange c")
+    long findLastRevision();
+}
@@ -0,0 +1,22 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+// Изменения задач одним UPDATE без их загрузки. Из кэша второго уровня вытесняются только изменённые задачи.
+// Без expectedVersion версия не сверяется. Возвращают число изменённых строк
+public interface TaskFieldRepository {
+    // Меняет только переданные (не null) поля и увеличивает версию. 0 — задачи нет или версия устарела
+    int updateFields(Long taskId, String title, String description, TaskPriority priority, TaskStatus status,
+                     Long expectedVersion);
+
+    // Права проверяются тем же запросом: для администратора assigneeId = null, для пользователя — его id.
+    // 0 — задачи нет, нет прав или версия устарела
+    int updateStatusIfAccessible(Long taskId, TaskStatus status, Long assigneeId, Long expectedVersion);
+
+    // То же для набора задач без сверки версий. Возвращает id изменённых задач по возрастанию
+    List<Long> updateStatusesIfAccessible(Collection<Long> taskIds, TaskStatus status, Long assigneeId);
+}
@@ -0,0 +1,159 @@
+package org.example.taskmanagementsystem.repositories;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.taskmanagementsystem.models.Task;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// HQL UPDATE и native-запрос без пространств очищают весь регион tasks кэша второго уровня. Поэтому запросы здесь
+// нативные и синхронизированы с пространством, которому не соответствует ни одна таблица, а задача вытесняется по id.
+// SET собирается только из переданных полей, поэтому непереданное описание (LOB) не переписывается
+public class TaskFieldRepositoryImpl implements TaskFieldRepository {
+    private static final String UNCACHED_QUERY_SPACE = "task_single_row_update";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateFields(Long taskId, String title, String description, TaskPriority priority, TaskStatus status,
+                            Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (title != null) {
+            assignments.add("title = :title");
+            parameters.put("title", title);
+        }
+        if (description != null) {
+            assignments.add("description = :description");
+        }
+        if (priority != null) {
+            assignments.add("priority = :priority");
+            parameters.put("priority", priority.name());
+        }
+        if (status != null) {
+            assignments.add("status = :status");
+            parameters.put("status", status.name());
+        }
+        assignments.add("version = version + 1");
+
+        NativeQuery<?> query = createUpdate("UPDATE task SET " + String.join(", ", assignments) + " WHERE id = :taskId"
+                + (expectedVersion != null ? " AND version = :expectedVersion" : ""));
+        parameters.forEach(query::setParameter);
+        // Описание связывается тем же типом, что и поле сущности: на PostgreSQL это large object
+        if (description != null) {
+            query.setParameter("description", description, StandardBasicTypes.MATERIALIZED_CLOB);
+        }
+        return execute(query, taskId, expectedVersion);
+    }
+
+    @Override
+    public int updateStatusIfAccessible(Long taskId, TaskStatus status, Long assigneeId, Long expectedVersion) {
+        NativeQuery<?> query = createUpdate("UPDATE task SET status = :status, version = version + 1 WHERE id = :taskId"
+                + (expectedVersion != null ? " AND version = :expectedVersion" : "")
+                + accessPredicate(assigneeId));
+        query.setParameter("status", status.name());
+        bindAssignee(query, assigneeId);
+        return execute(query, taskId, expectedVersion);
+    }
+
+    // Обновлённые строки заблокированы до конца транзакции, а снятие исполнителя увеличивает версию задачи
+    // и ждёт этой блокировки. Поэтому, если изменились не все строки, повторная выборка с тем же условием
+    // возвращает ровно обновлённые задачи
+    @Override
+    public List<Long> updateStatusesIfAccessible(Collection<Long> taskIds, TaskStatus status, Long assigneeId) {
+        NativeQuery<?> query = createUpdate("UPDATE task SET status = :status, version = version + 1 WHERE id IN (:taskIds)"
+                + accessPredicate(assigneeId));
+        query.setParameter("status", status.name());
+        query.setParameter("taskIds", taskIds);
+        bindAssignee(query, assigneeId);
+
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        entityManager.clear();
+
+        if (updated == 0) {
+            return List.of();
+        }
+        List<Long> updatedIds = updated == taskIds.size()
+                ? taskIds.stream().sorted().toList()
+                : findAccessibleIds(taskIds, assigneeId);
+        evict(updatedIds);
+        return updatedIds;
+    }
+
+    private List<Long> findAccessibleIds(Collection<Long> taskIds, Long assigneeId) {
+        NativeQuery<?> query = entityManager.createNativeQuery("SELECT id FROM task WHERE id IN (:taskIds)"
+                        + accessPredicate(assigneeId) + " ORDER BY id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UNCACHED_QUERY_SPACE);
+        query.setParameter("taskIds", taskIds);
+        bindAssignee(query, assigneeId);
+        return query.getResultList().stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    // Для администратора assigneeId = null и условие не добавляется
+    private String accessPredicate(Long assigneeId) {
+        return assigneeId != null
+                ? " AND EXISTS (SELECT 1 FROM task_assignees ta WHERE ta.task_id = task.id AND ta.user_id = :assigneeId)"
+                : "";
+    }
+
+    private void bindAssignee(NativeQuery<?> query, Long assigneeId) {
+        if (assigneeId != null) {
+            query.setParameter("assigneeId", assigneeId);
+        }
+    }
+
+    private NativeQuery<?> createUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UNCACHED_QUERY_SPACE);
+    }
+
+    // Как @Modifying(flushAutomatically = true, clearAutomatically = true) у запросов TaskRepository
+    private int execute(NativeQuery<?> query, Long taskId, Long expectedVersion) {
+        query.setParameter("taskId", taskId);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        entityManager.clear();
+
+        if (updated > 0) {
+            evict(List.of(taskId));
+        }
+        return updated;
+    }
+
+    // Запись вытесняется сразу и ещё раз после завершения транзакции: параллельное чтение
+    // до коммита могло положить в кэш старую строку
+    private void evict(Collection<Long> taskIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        taskIds.forEach(taskId -> cache.evict(Task.class, taskId));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taskIds.forEach(taskId -> cache.evict(Task.class, taskId));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.models.TaskImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaskImportJobRepository extends JpaRepository<TaskImportJob, Long> {
+}
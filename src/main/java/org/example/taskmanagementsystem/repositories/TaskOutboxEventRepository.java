@@ -0,0 +1,13 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.models.TaskOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface TaskOutboxEventRepository extends JpaRepository<TaskOutboxEvent, Long> {
+    @Query("SELECT e FROM TaskOutboxEvent e ORDER BY e.id")
+    List<TaskOutboxEvent> findOldest(Pageable pageable);
+}
@@ -1,35 +1,91 @@
 package org.example.taskmanagementsystem.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.taskmanagementsystem.models.Task;
 import org.example.taskmanagementsystem.models.TaskPriority;
 import org.example.taskmanagementsystem.models.TaskStatus;
-import org.springframework.data.domain.Page;
+import org.example.taskmanagementsystem.repositories.projections.TaskAccessRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByAuthorId(Long authorId, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-    Page<Task> findByAuthorIdAndPriority(Long authorId, TaskPriority priority, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskSummaryRepository,
+        TaskFieldRepository {
+    String SELECT_TASK_SUMMARY = "SELECT new org.example.taskmanagementsystem.repositories.projections.TaskSummary(" +
+            "t.id, t.title, t.description, t.priority, t.status, t.version, a.id, a.email, a.role) FROM Task t JOIN t.author a ";
+    String SELECT_TASK_ACCESS = "SELECT new org.example.taskmanagementsystem.repositories.projections.TaskAccessRow(t.id, t.version, " +
+            "CASE WHEN EXISTS (SELECT u.id FROM t.assignees u WHERE u.id = :userId) THEN true ELSE false END) FROM Task t ";
 
-    Page<Task> findByAuthorIdAndStatus(Long authorId, TaskStatus status, Pageable pageable);
+    @Query(SELECT_TASK_SUMMARY + "ORDER BY t.id")
+    List<TaskSummary> findAllSummaries();
 
-    Page<Task> findByAuthorIdAndPriorityAndStatus(Long authorId, TaskPriority priority, TaskStatus status, Pageable pageable);
-    @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :assigneeId")
-    Page<Task> findByAssigneeId(@Param("assigneeId") Long assigneeId, Pageable pageable);
+    // Серверный курсор PostgreSQL открывается только внутри транзакции
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_TASK_SUMMARY + "ORDER BY t.id")
+    Stream<TaskSummary> streamAllSummaries();
 
-    @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :assigneeId AND t.priority = :priority")
-    Page<Task> findByAssigneeIdAndPriority(@Param("assigneeId") Long assigneeId, @Param("priority") TaskPriority priority, Pageable pageable);
+    @Query("SELECT new org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow(t.id, u.id, u.email, u.role) " +
+            "FROM Task t JOIN t.assignees u WHERE t.id IN :taskIds")
+    List<TaskAssigneeRow> findAssigneeRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
 
-    @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :assigneeId AND t.status = :status")
-    Page<Task> findByAssigneeIdAndStatus(@Param("assigneeId") Long assigneeId, @Param("status") TaskStatus status, Pageable pageable);
+    @Query("SELECT u.id FROM Task t JOIN t.assignees u WHERE t.id = :taskId")
+    List<Long> findAssigneeIdsByTaskId(@Param("taskId") Long taskId);
 
-    @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :assigneeId AND t.priority = :priority AND t.status = :status")
-    Page<Task> findByAssigneeIdAndPriorityAndStatus(
+    @Query("SELECT t.status FROM Task t WHERE t.id = :taskId")
+    Optional<TaskStatus> findStatusById(@Param("taskId") Long taskId);
+
+    @Query(SELECT_TASK_SUMMARY + "WHERE t.id = :taskId")
+    Optional<TaskSummary> findSummaryById(@Param("taskId") Long taskId);
+
+    // Права проверяются тем же запросом: для администратора assigneeId = null. Пусто — задачи нет или нет прав
+    @Query(SELECT_TASK_SUMMARY + "WHERE t.id = :taskId " +
+            "AND (:assigneeId IS NULL OR EXISTS (SELECT u.id FROM t.assignees u WHERE u.id = :assigneeId))")
+    Optional<TaskSummary> findAccessibleSummaryById(@Param("taskId") Long taskId, @Param("assigneeId") Long assigneeId);
+
+    @Query(SELECT_TASK_SUMMARY + "WHERE t.id IN :taskIds")
+    List<TaskSummary> findSummariesByIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query(SELECT_TASK_SUMMARY + "WHERE a.id = :authorId AND t.id > :afterId " +
+            "AND (:priority IS NULL OR t.priority = :priority) AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    Slice<TaskSummary> findByAuthorIdAfter(
+            @Param("authorId") Long authorId,
+            @Param("afterId") long afterId,
+            @Param("priority") TaskPriority priority,
+            @Param("status") TaskStatus status,
+            Pageable pageable);
+
+    @Query(SELECT_TASK_SUMMARY + "JOIN t.assignees u WHERE u.id = :assigneeId AND t.id > :afterId " +
+            "AND (:priority IS NULL OR t.priority = :priority) AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    Slice<TaskSummary> findByAssigneeIdAfter(
             @Param("assigneeId") Long assigneeId,
+            @Param("afterId") long afterId,
             @Param("priority") TaskPriority priority,
             @Param("status") TaskStatus status,
             Pageable pageable);
+
+    @Query(SELECT_TASK_ACCESS + "WHERE t.id = :taskId")
+    Optional<TaskAccessRow> findAccessRowById(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Query(SELECT_TASK_ACCESS + "WHERE t.id IN :taskIds")
+    List<TaskAccessRow> findAccessRowsByIdIn(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
+
+    // Комментарии входят в ответ задачи, поэтому их изменение тоже увеличивает версию задачи
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId")
+    Optional<Task> findByIdForVersionIncrement(@Param("taskId") Long taskId);
 }
@@ -0,0 +1,84 @@
+package org.example.taskmanagementsystem.repositories;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSortField;
+import org.example.taskmanagementsystem.models.Task;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Собирает из заданных фильтров один запрос; пустые фильтры в SQL не попадают.
+// Запросы опираются на индексы task(author_id, status, priority, id) и task_assignees(user_id, task_id)
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskSearchRequest request) {
+        List<Specification<Task>> specifications = new ArrayList<>();
+
+        if (request.getAuthorId() != null) {
+            specifications.add(hasAuthor(request.getAuthorId()));
+        }
+
+        if (request.getAssigneeId() != null) {
+            specifications.add(hasAssignee(request.getAssigneeId()));
+        }
+
+        if (request.getStatuses() != null && !request.getStatuses().isEmpty()) {
+            specifications.add(statusIn(request.getStatuses()));
+        }
+
+        if (request.getPriorities() != null && !request.getPriorities().isEmpty()) {
+            specifications.add(priorityIn(request.getPriorities()));
+        }
+
+        specifications.add(orderBy(request.getSort(), request.getDirection()));
+
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Task> hasAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
+    }
+
+    public static Specification<Task> hasAssignee(Long assigneeId) {
+        return (root, query, cb) -> cb.equal(root.join("assignees").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> statusIn(Collection<TaskStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<TaskPriority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    // Приоритет хранится строкой, поэтому для сортировки он переводится в ранг LOW < MEDIUM < HIGH.
+    // Запросы подсчёта количества сбрасывают эту сортировку сами
+    public static Specification<Task> orderBy(TaskSortField field, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            boolean ascending = direction == null || direction.isAscending();
+            List<Order> orders = new ArrayList<>();
+
+            if (field == TaskSortField.PRIORITY) {
+                Expression<Integer> priorityRank = cb.<TaskPriority, Integer>selectCase(root.get("priority"))
+                        .when(TaskPriority.LOW, 0)
+                        .when(TaskPriority.MEDIUM, 1)
+                        .otherwise(2);
+                orders.add(ascending ? cb.asc(priorityRank) : cb.desc(priorityRank));
+            }
+
+            orders.add(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.models.Task;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface TaskSummaryRepository {
+    Page<TaskSummary> findSummaries(Specification<Task> specification, Pageable pageable);
+
+    // Серверный курсор PostgreSQL открывается только внутри транзакции
+    Stream<TaskSummary> streamSummaries(Specification<Task> specification);
+}
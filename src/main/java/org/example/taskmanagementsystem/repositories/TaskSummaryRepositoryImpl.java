@@ -0,0 +1,84 @@
+package org.example.taskmanagementsystem.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.example.taskmanagementsystem.models.Task;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Выполняет спецификацию поиска с проекцией в TaskSummary, минуя создание управляемых сущностей
+public class TaskSummaryRepositoryImpl implements TaskSummaryRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskSummary> findSummaries(Specification<Task> specification, Pageable pageable) {
+        TypedQuery<TaskSummary> typedQuery = createSummaryQuery(specification);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<TaskSummary> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Stream<TaskSummary> streamSummaries(Specification<Task> specification) {
+        return createSummaryQuery(specification)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<TaskSummary> createSummaryQuery(Specification<Task> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> author = root.join("author");
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.select(cb.construct(TaskSummary.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("priority"),
+                root.get("status"),
+                root.get("version"),
+                author.get("id"),
+                author.get("email"),
+                author.get("role")));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Task> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.select(cb.count(root));
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.taskmanagementsystem.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.taskmanagementsystem.models.User;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Поиск по email идёт через natural id: сначала кэш natural id -> id, затем кэш сущностей второго уровня,
+// и только при промахе запрос к базе
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Без транзакции unwrap вернул бы сессию, которую прокси EntityManager сразу закроет
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
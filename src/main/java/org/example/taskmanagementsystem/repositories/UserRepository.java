@@ -3,8 +3,9 @@ package org.example.taskmanagementsystem.repositories;
 import org.example.taskmanagementsystem.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+    List<User> findAllByEmailIn(Collection<String> emails);
 }
@@ -0,0 +1,4 @@
+package org.example.taskmanagementsystem.repositories.projections;
+
+public record TaskAccessRow(Long taskId, Long version, boolean assigned) {
+}
@@ -0,0 +1,6 @@
+package org.example.taskmanagementsystem.repositories.projections;
+
+import org.example.taskmanagementsystem.models.Role;
+
+public record TaskAssigneeRow(Long taskId, Long userId, String email, Role role) {
+}
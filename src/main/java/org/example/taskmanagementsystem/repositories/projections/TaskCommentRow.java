@@ -0,0 +1,4 @@
+package org.example.taskmanagementsystem.repositories.projections;
+
+public record TaskCommentRow(Long taskId, Long id, String content, String authorEmail) {
+}
@@ -0,0 +1,4 @@
+package org.example.taskmanagementsystem.repositories.projections;
+
+public record TaskRevisionRow(Long taskId, Long revision) {
+}
@@ -0,0 +1,17 @@
+package org.example.taskmanagementsystem.repositories.projections;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+
+public record TaskSummary(
+        Long id,
+        String title,
+        String description,
+        TaskPriority priority,
+        TaskStatus status,
+        Long version,
+        Long authorId,
+        String authorEmail,
+        Role authorRole) {
+}
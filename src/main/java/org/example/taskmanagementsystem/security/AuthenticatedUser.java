@@ -0,0 +1,14 @@
+package org.example.taskmanagementsystem.security;
+
+import org.example.taskmanagementsystem.models.Role;
+
+import java.security.Principal;
+
+// Пользователь, восстановленный из claims токена без обращения к базе
+public record AuthenticatedUser(Long id, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
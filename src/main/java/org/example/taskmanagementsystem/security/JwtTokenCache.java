@@ -0,0 +1,95 @@
+package org.example.taskmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Проверенные токены по SHA-256 от токена: повторный запрос с тем же токеном не разбирает JSON и не считает HMAC.
+// Запись удаляется по истечении срока токена или при превышении размера кэша. Некорректные токены не кэшируются
+@Component
+public class JwtTokenCache implements MeterBinder {
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(JwtUtil jwtUtil, @Value("${jwt.token-cache.maximum-size:10000}") long maximumSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = maximumSize > 0 ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build() : null;
+    }
+
+    public AuthenticatedUser resolve(String token) {
+        if (cache == null) {
+            return jwtUtil.parseToken(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken verifiedToken = cache.getIfPresent(key);
+        if (verifiedToken == null) {
+            verifiedToken = jwtUtil.verifyToken(token);
+            if (verifiedToken == null) {
+                return null;
+            }
+            cache.put(key, verifiedToken);
+        }
+
+        return verifiedToken.expiresAt().isAfter(Instant.now()) ? verifiedToken.user() : null;
+    }
+
+    public long hitCount() {
+        return cache != null ? cache.stats().hitCount() : 0;
+    }
+
+    public long missCount() {
+        return cache != null ? cache.stats().missCount() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "jwtTokens");
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Duration ttl = Duration.between(Instant.now(), value.expiresAt());
+            return ttl.isNegative() ? 0 : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
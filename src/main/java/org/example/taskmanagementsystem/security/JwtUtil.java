@@ -1,33 +1,65 @@
 package org.example.taskmanagementsystem.security;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
 import org.springframework.stereotype.Component;
+
+import java.security.Key;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    // Время проверки подписи и разбора claims; попадания в JwtTokenCache сюда не доходят
+    private static final Timer VERIFICATION_TIMER = Timer.builder("jwt.verification").register(Metrics.globalRegistry);
+
     private final String jwtSecret = "2D4A614E645267556B58703273357638792F423F4428472B4B6250655368566D";
     private final int jwtExpirationMs = 86400000; // 24 часа
 
-    public String generateToken(String email) {
+    // Ключ и парсер создаются один раз, парсер потокобезопасен
+    private final Key signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS256, jwtSecret)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+    public AuthenticatedUser parseToken(String token) {
+        VerifiedToken verifiedToken = verifyToken(token);
+        return verifiedToken != null ? verifiedToken.user() : null;
     }
 
-    public boolean validateToken(String token) {
+    // Подпись, срок действия и claims проверяются за один разбор. Для некорректного токена возвращается null
+    public VerifiedToken verifyToken(String token) {
+        return VERIFICATION_TIMER.record(() -> verify(token));
+    }
+
+    private VerifiedToken verify(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException | ExpiredJwtException | UnsupportedJwtException | IllegalArgumentException e) {
-            return false;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Long userId = claims.get(USER_ID_CLAIM, Long.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+
+            if (userId == null || role == null || claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            AuthenticatedUser user = new AuthenticatedUser(userId, claims.getSubject(), Role.valueOf(role));
+            return new VerifiedToken(user, claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package org.example.taskmanagementsystem.security;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Роли, изменённые после выдачи токенов. Токен, в котором записана прежняя роль, больше не принимается,
+// и пользователь должен использовать новый токен. Реестр хранится в памяти экземпляра приложения
+@Component
+public class RoleChangeRegistry {
+    private final Map<Long, Role> changedRoles = new ConcurrentHashMap<>();
+
+    public void roleChanged(Long userId, Role role) {
+        changedRoles.put(userId, role);
+    }
+
+    public boolean isActual(AuthenticatedUser user) {
+        Role changedRole = changedRoles.get(user.id());
+        return changedRole == null || changedRole == user.role();
+    }
+}
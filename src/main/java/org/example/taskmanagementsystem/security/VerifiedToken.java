@@ -0,0 +1,6 @@
+package org.example.taskmanagementsystem.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+}
@@ -52,7 +52,7 @@ public class AuthService {
             throw new InvalidCredentialsException("Неправильная почта или пароль");
         }
 
-        return jwtUtils.generateToken(user.getEmail());
+        return jwtUtils.generateToken(user);
     }
 
     public boolean isUserAuthenticated() {
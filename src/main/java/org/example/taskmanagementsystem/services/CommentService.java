@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import org.example.taskmanagementsystem.dto.CommentCreateRequest;
 import org.example.taskmanagementsystem.dto.CommentEditRequest;
 import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
 import org.example.taskmanagementsystem.exception.CommentNotFoundException;
 import org.example.taskmanagementsystem.exception.TaskNotFoundException;
 import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
@@ -13,6 +14,7 @@ import org.example.taskmanagementsystem.models.User;
 import org.example.taskmanagementsystem.repositories.CommentRepository;
 import org.example.taskmanagementsystem.repositories.TaskRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,7 +26,13 @@ public class CommentService {
     private final UserService userService;
     private final TaskService taskService;
     private final TaskRepository taskRepository;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskAccessService taskAccessService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskChangeLog taskChangeLog;
+    private final TaskOutbox taskOutbox;
 
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsForTask(long taskId) {
         if (!taskRepository.existsById(taskId)) {
             throw new TaskNotFoundException("Такой задачи не существует");
@@ -40,6 +48,13 @@ public class CommentService {
         }
     }
 
+    // Комментарии меняют версию задачи, поэтому ETag списка комментариев совпадает с ETag задачи
+    public long getCommentsVersion(long taskId) {
+        return taskAccessService.findAccessibleVersion(userService.getCurrentUser(), taskId)
+            .orElseThrow(() -> new UnauthorizedAccessException("У вас нет прав на просмотр комментариев этой задачи"));
+    }
+
+    @Transactional
     public void createComment(long taskId, CommentCreateRequest commentCreateRequest) {
         if (!taskRepository.existsById(taskId)) {
             throw new TaskNotFoundException("Такой задачи не существует");
@@ -49,18 +64,23 @@ public class CommentService {
 
         if (hasAccess) {
             User currentUser = userService.getCurrentUser();
-            Task task = taskService.getTask(taskId);
+            Task task = getTaskForVersionIncrement(taskId);
             Comment comment = new Comment();
             comment.setContent(commentCreateRequest.getContent());
             comment.setTask(task);
             comment.setAuthor(currentUser);
 
             commentRepository.save(comment);
+            taskResponseCache.invalidate(taskId);
+            taskChangeLog.taskChanged(taskId);
+            taskOutbox.append(TaskChangeType.COMMENTED, taskId, task.getStatus());
+            taskChangeFeed.publish(TaskChangeType.COMMENTED, taskId, task.getStatus());
         } else {
             throw new UnauthorizedAccessException("У вас нет прав на публикацию комментариев к этой задаче");
         }
     }
 
+    @Transactional
     public void editComment(long commentId, CommentEditRequest commentEditRequest) {
         User currentUser = userService.getCurrentUser();
         Comment comment = getComment(commentId);
@@ -68,22 +88,38 @@ public class CommentService {
         if (isAuthor(comment, currentUser)) {
             comment.setContent(commentEditRequest.getContent());
             commentRepository.save(comment);
+            getTaskForVersionIncrement(comment.getTask().getId());
+            taskResponseCache.invalidate(comment.getTask().getId());
+            taskChangeLog.taskChanged(comment.getTask().getId());
+            taskOutbox.append(TaskChangeType.COMMENTED, comment.getTask().getId(), comment.getTask().getStatus());
+            taskChangeFeed.publish(TaskChangeType.COMMENTED, comment.getTask().getId(), comment.getTask().getStatus());
         } else {
             throw new UnauthorizedAccessException("У вас нет прав на изменение данного комментария");
         }
     }
 
+    @Transactional
     public void deleteComment(long commentId) {
         User currentUser = userService.getCurrentUser();
         Comment comment = getComment(commentId);
 
         if (isAuthor(comment, currentUser)) {
             commentRepository.delete(comment);
+            getTaskForVersionIncrement(comment.getTask().getId());
+            taskResponseCache.invalidate(comment.getTask().getId());
+            taskChangeLog.taskChanged(comment.getTask().getId());
+            taskOutbox.append(TaskChangeType.COMMENTED, comment.getTask().getId(), comment.getTask().getStatus());
+            taskChangeFeed.publish(TaskChangeType.COMMENTED, comment.getTask().getId(), comment.getTask().getStatus());
         } else {
             throw new UnauthorizedAccessException("У вас нет прав на удаление данного комментария");
         }
     }
 
+    private Task getTaskForVersionIncrement(long taskId) {
+        return taskRepository.findByIdForVersionIncrement(taskId)
+            .orElseThrow(() -> new TaskNotFoundException("Такой задачи не существует"));
+    }
+
     private Comment getComment(long commentId) {
         return commentRepository.findById(commentId).orElseThrow(() -> new CommentNotFoundException("Такой комментарий не существует"));
     }
@@ -0,0 +1,161 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.metrics.RequestStatements;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Независимые чтения параллельно, по образцу StructuredTaskScope.ShutdownOnFailure (в Java 21 он только preview).
+// Каждая подзадача идёт на своём виртуальном потоке в своей read-only транзакции, то есть со своим соединением.
+// Первая ошибка отменяет ещё не начатые подзадачи, и scope не закрывается, пока все они не завершились.
+// Начатые чтения не прерываются: прерывание виртуального потока в чтении из сокета закрывает соединение,
+// и пул потерял бы его. Они дорабатывают свою короткую read-only транзакцию, а результат отбрасывается.
+// Вызывающий поток не должен держать соединение: иначе под нагрузкой подзадачи ждали бы пул, занятый вызывающими.
+// При task.view.concurrent-loads=false подзадачи выполняются по очереди в вызывающем потоке
+@Component
+public class ConcurrentReads {
+    private final TransactionOperations readOnlyTransaction;
+    private final Executor executor;
+
+    @Autowired
+    public ConcurrentReads(PlatformTransactionManager transactionManager,
+                           @Value("${task.view.concurrent-loads:true}") boolean concurrent) {
+        this(readOnly(transactionManager), concurrent ? Executors.newVirtualThreadPerTaskExecutor() : Runnable::run);
+    }
+
+    ConcurrentReads(TransactionOperations readOnlyTransaction, Executor executor) {
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.executor = executor;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    // Подзадачи наследуют trace id и счётчик SQL-запросов HTTP-запроса, который их запустил
+    public class Scope implements AutoCloseable {
+        private final List<Subtask<?>> subtasks = new CopyOnWriteArrayList<>();
+        private final Phaser running = new Phaser(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean joined;
+
+        private Scope() {
+        }
+
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            Supplier<T> counted = RequestStatements.propagate(task);
+            Subtask<T> subtask = new Subtask<>(() -> withMdc(mdc, () -> readOnlyTransaction.execute(status -> counted.get())));
+
+            subtasks.add(subtask);
+            if (failure.get() != null) {
+                subtask.cancel(false);
+            }
+            running.register();
+            executor.execute(() -> {
+                try {
+                    subtask.run();
+                } finally {
+                    running.arriveAndDeregister();
+                }
+            });
+
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("Результат подзадачи доступен только после join");
+                }
+                return subtask.resultNow();
+            };
+        }
+
+        // Ждёт все подзадачи и бросает первую ошибку как есть
+        public void join() {
+            awaitAll();
+            joined = true;
+
+            Throwable error = failure.get();
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (error instanceof Error e) {
+                throw e;
+            }
+            if (error != null) {
+                throw new IllegalStateException(error);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!joined) {
+                cancelAll();
+                awaitAll();
+            }
+        }
+
+        private void awaitAll() {
+            int phase = running.arrive();
+            try {
+                running.awaitAdvanceInterruptibly(phase);
+            } catch (InterruptedException e) {
+                cancelAll();
+                running.awaitAdvance(phase);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание чтения прервано", e);
+            }
+        }
+
+        private void cancelAll() {
+            subtasks.forEach(subtask -> subtask.cancel(false));
+        }
+
+        private class Subtask<T> extends FutureTask<T> {
+            Subtask(Supplier<T> task) {
+                super(task::get);
+            }
+
+            @Override
+            protected void done() {
+                if (state() == State.FAILED && failure.compareAndSet(null, exceptionNow())) {
+                    cancelAll();
+                }
+            }
+        }
+    }
+
+    private static <T> T withMdc(Map<String, String> mdc, Supplier<T> task) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+}
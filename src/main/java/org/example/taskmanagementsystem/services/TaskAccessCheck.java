@@ -0,0 +1,6 @@
+package org.example.taskmanagementsystem.services;
+
+import java.util.List;
+
+public record TaskAccessCheck(List<Long> allowedIds, List<Long> deniedIds, List<Long> notFoundIds) {
+}
@@ -0,0 +1,67 @@
+package org.example.taskmanagementsystem.services;
+
+import lombok.AllArgsConstructor;
+import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.projections.TaskAccessRow;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+// Доступ к задаче есть у администратора и у исполнителей задачи. Проверка идёт по первичному ключу задачи
+// и индексу task_assignees (user_id, task_id), сами задачи и их исполнители не загружаются
+@Service
+@AllArgsConstructor
+public class TaskAccessService {
+    private final TaskRepository taskRepository;
+
+    public boolean hasAccess(User user, Long taskId) {
+        return hasAccess(user, getAccessRow(user, taskId));
+    }
+
+    // Версия задачи для условных запросов читается тем же запросом, что и права. Пусто, если доступа нет
+    public Optional<Long> findAccessibleVersion(User user, Long taskId) {
+        TaskAccessRow row = getAccessRow(user, taskId);
+        return hasAccess(user, row) ? Optional.of(row.version()) : Optional.empty();
+    }
+
+    public TaskAccessCheck check(User user, Collection<Long> taskIds) {
+        List<Long> allowedIds = new ArrayList<>();
+        List<Long> deniedIds = new ArrayList<>();
+        Set<Long> foundIds = new HashSet<>();
+
+        for (TaskAccessRow row : taskRepository.findAccessRowsByIdIn(taskIds, user.getId())) {
+            foundIds.add(row.taskId());
+            if (hasAccess(user, row)) {
+                allowedIds.add(row.taskId());
+            } else {
+                deniedIds.add(row.taskId());
+            }
+        }
+
+        List<Long> notFoundIds = taskIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .distinct()
+                .sorted()
+                .toList();
+
+        Collections.sort(allowedIds);
+        Collections.sort(deniedIds);
+        return new TaskAccessCheck(allowedIds, deniedIds, notFoundIds);
+    }
+
+    private TaskAccessRow getAccessRow(User user, Long taskId) {
+        return taskRepository.findAccessRowById(taskId, user.getId())
+                .orElseThrow(() -> new TaskNotFoundException("Такой задачи не существует"));
+    }
+
+    private boolean hasAccess(User user, TaskAccessRow row) {
+        return isAdmin(user) || row.assigned();
+    }
+
+    private boolean isAdmin(User user) {
+        return user.getRole().equals(Role.ADMIN);
+    }
+}
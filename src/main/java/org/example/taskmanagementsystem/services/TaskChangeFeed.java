@@ -0,0 +1,250 @@
+package org.example.taskmanagementsystem.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanagementsystem.dto.TaskChangeEvent;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Подписки на изменения задач по SSE. Подписчик получает события по тем же правилам, что и доступ к задаче:
+// администратор — по всем задачам, пользователь — только по назначенным ему.
+// Подписка не держит поток: события складываются в ограниченную очередь подписчика и отправляются
+// виртуальным потоком, пока очередь не опустеет. Подписчик, не успевающий читать, отключается,
+// а после переподключения получает событие ready и перечитывает задачи
+@Component
+public class TaskChangeFeed implements MeterBinder {
+    private final TaskRepository taskRepository;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Executor sender;
+
+    private final Map<Long, Set<Subscriber>> subscribersByUserId = new ConcurrentHashMap<>();
+    private final Set<Subscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    @Autowired
+    public TaskChangeFeed(TaskRepository taskRepository,
+                          @Value("${task.change-feed.queue-capacity:256}") int queueCapacity,
+                          @Value("${task.change-feed.timeout:30m}") Duration timeout) {
+        this(taskRepository, queueCapacity, timeout, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TaskChangeFeed(TaskRepository taskRepository, int queueCapacity, Duration timeout, Executor sender) {
+        this.taskRepository = taskRepository;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.sender = sender;
+    }
+
+    public SseEmitter subscribe(User user) {
+        return subscribe(user, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(User user, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(user.getId(), user.getRole().equals(Role.ADMIN), emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+
+        if (subscriber.admin) {
+            adminSubscribers.add(subscriber);
+        } else {
+            subscribersByUserId.computeIfAbsent(subscriber.userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+
+        subscriber.offer(SseEmitter.event().name("ready").data(""));
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return subscriberCount.get() > 0;
+    }
+
+    public void publish(TaskChangeType type, Long taskId, TaskStatus status) {
+        publish(type, List.of(taskId), status);
+    }
+
+    // Снятые с задачи пользователи уже не найдутся среди исполнителей, поэтому получают отдельное событие UNASSIGNED
+    public void publish(TaskChangeType type, Long taskId, TaskStatus status, Set<Long> removedAssigneeIds) {
+        publish(type, List.of(taskId), status, removedAssigneeIds);
+    }
+
+    // Исполнители читаются в момент вызова, поэтому удаление публикуется до удаления задачи.
+    // Внутри транзакции рассылка идёт после коммита, откаченные изменения подписчики не увидят
+    public void publish(TaskChangeType type, Collection<Long> taskIds, TaskStatus status) {
+        publish(type, taskIds, status, Set.of());
+    }
+
+    private void publish(TaskChangeType type, Collection<Long> taskIds, TaskStatus status, Set<Long> removedAssigneeIds) {
+        if (!hasSubscribers() || taskIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Set<Long>> assigneeIdsByTaskId = taskRepository.findAssigneeRowsByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssigneeRow::taskId,
+                        Collectors.mapping(TaskAssigneeRow::userId, Collectors.toSet())));
+        List<Long> ids = List.copyOf(taskIds);
+        Set<Long> removedIds = Set.copyOf(removedAssigneeIds);
+
+        Runnable broadcast = () -> ids.forEach(taskId -> {
+            Set<Long> assigneeIds = assigneeIdsByTaskId.getOrDefault(taskId, Set.of());
+            broadcast(new TaskChangeEvent(taskId, type, status), assigneeIds);
+            notifyUnassigned(new TaskChangeEvent(taskId, TaskChangeType.UNASSIGNED, status), removedIds, assigneeIds);
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast.run();
+                }
+            });
+        } else {
+            broadcast.run();
+        }
+    }
+
+    // Комментарий-пинг не даёт прокси закрыть молчащее соединение и выявляет отключившихся клиентов
+    @Scheduled(fixedRateString = "${task.change-feed.heartbeat-interval:30s}")
+    public void sendHeartbeats() {
+        adminSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat")));
+        subscribersByUserId.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void close() {
+        adminSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribersByUserId.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.change-feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Открытые подписки на изменения задач")
+                .register(registry);
+        FunctionCounter.builder("task.change-feed.overflows", overflowCount, AtomicLong::get)
+                .description("Подписчики, отключённые из-за переполнения очереди")
+                .register(registry);
+    }
+
+    private void broadcast(TaskChangeEvent event, Set<Long> assigneeIds) {
+        for (Long assigneeId : assigneeIds) {
+            Set<Subscriber> subscribers = subscribersByUserId.get(assigneeId);
+            if (subscribers != null) {
+                subscribers.forEach(subscriber -> subscriber.offer(taskEvent(event)));
+            }
+        }
+        adminSubscribers.forEach(subscriber -> subscriber.offer(taskEvent(event)));
+    }
+
+    // Администраторы видят задачу и дальше, им хватает основного события
+    private void notifyUnassigned(TaskChangeEvent event, Set<Long> removedAssigneeIds, Set<Long> assigneeIds) {
+        for (Long userId : removedAssigneeIds) {
+            if (assigneeIds.contains(userId)) {
+                continue;
+            }
+            Set<Subscriber> subscribers = subscribersByUserId.get(userId);
+            if (subscribers != null) {
+                subscribers.forEach(subscriber -> subscriber.offer(taskEvent(event)));
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder taskEvent(TaskChangeEvent event) {
+        return SseEmitter.event().name("task").data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (subscriber.admin) {
+            adminSubscribers.remove(subscriber);
+        } else {
+            subscribersByUserId.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final boolean admin;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, boolean admin, SseEmitter emitter) {
+            this.userId = userId;
+            this.admin = admin;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+
+            if (!queue.offer(event)) {
+                overflowCount.incrementAndGet();
+                remove(this);
+                queue.clear();
+                emitter.complete();
+                return;
+            }
+
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // Событие, добавленное между последним poll и сбросом флага, подхватывается повторной проверкой
+        private void drain() {
+            do {
+                try {
+                    SseEmitter.SseEventBuilder event;
+                    while (!closed.get() && (event = queue.poll()) != null) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    remove(this);
+                    queue.clear();
+                    emitter.completeWithError(e);
+                } finally {
+                    draining.set(false);
+                }
+            } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.models.TaskChange;
+import org.example.taskmanagementsystem.repositories.TaskChangeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Журнал изменений задач для дельта-синхронизации. Ревизии берутся из последовательности с пулом и пишутся
+// в транзакции изменения, но транзакции фиксируются не по порядку ревизий. Чтобы клиент не перескочил
+// через изменение, которое ещё не зафиксировано, выдача ограничена ревизией, ниже которой незавершённых
+// транзакций нет. Незавершённые транзакции учитываются в памяти экземпляра приложения
+@Component
+public class TaskChangeLog {
+    private final TaskChangeRepository taskChangeRepository;
+    // Под блокировкой идут запросы к базе: monitor закрепил бы виртуальный поток за потоком-носителем
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Первая ревизия каждой незавершённой транзакции. Доступ под блокировкой журнала
+    private final NavigableSet<Long> pendingRevisions = new TreeSet<>();
+    private long lastRevision;
+    private boolean lastRevisionKnown;
+
+    public TaskChangeLog(TaskChangeRepository taskChangeRepository) {
+        this.taskChangeRepository = taskChangeRepository;
+    }
+
+    public void taskChanged(Long taskId) {
+        tasksChanged(List.of(taskId));
+    }
+
+    public void tasksChanged(Collection<Long> taskIds) {
+        record(taskIds.stream().map(taskId -> new TaskChange(taskId, null, false)).toList());
+    }
+
+    // Исполнители, снятые с задачи, должны убрать её у себя
+    public void taskRemoved(Long taskId, Collection<Long> userIds) {
+        record(userIds.stream().map(userId -> new TaskChange(taskId, userId, true)).toList());
+    }
+
+    public void taskDeleted(Long taskId, Collection<Long> assigneeIds) {
+        List<TaskChange> changes = new ArrayList<>();
+        changes.add(new TaskChange(taskId, null, true));
+        assigneeIds.forEach(userId -> changes.add(new TaskChange(taskId, userId, true)));
+        record(changes);
+    }
+
+    // Все ревизии до возвращённой включительно либо зафиксированы, либо отменены
+    public long visibleRevision() {
+        lock.lock();
+        try {
+            if (!lastRevisionKnown) {
+                lastRevision = taskChangeRepository.findLastRevision();
+                lastRevisionKnown = true;
+            }
+
+            return pendingRevisions.isEmpty() ? lastRevision : pendingRevisions.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ревизии выдаются при сохранении, поэтому сохранение и учёт транзакции идут под одной блокировкой:
+    // иначе чтение могло бы увидеть границу выше ревизии, которая ещё не учтена
+    private void record(List<TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            taskChangeRepository.saveAll(changes);
+            long firstRevision = changes.getFirst().getRevision();
+            lastRevision = Math.max(lastRevision, changes.getLast().getRevision());
+            lastRevisionKnown = true;
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                pendingRevisions.add(firstRevision);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        completed(firstRevision);
+                    }
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void completed(long firstRevision) {
+        lock.lock();
+        try {
+            pendingRevisions.remove(firstRevision);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package org.example.taskmanagementsystem.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.taskmanagementsystem.dto.*;
+import org.example.taskmanagementsystem.exception.TaskCreationException;
+import org.example.taskmanagementsystem.exception.TaskImportJobNotFoundException;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.CommentRepository;
+import org.example.taskmanagementsystem.repositories.TaskImportJobRepository;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Импорт задач с комментариями из NDJSON, по одной задаче на строку. Файл читается построчно и сохраняется
+// порциями: каждая порция — отдельная транзакция с одним запросом пользователей по email и JDBC-пакетами
+// размером с порцию. Вместе с порцией сохраняется номер последней обработанной строки, так что после сбоя
+// импорт продолжается с того же файла без повторов. Строки с ошибками пропускаются и попадают в отчёт
+@Service
+public class TaskImportService {
+    private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final TaskImportJobRepository taskImportJobRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TaskChangeLog taskChangeLog;
+    private final TaskOutbox taskOutbox;
+    private final TaskChangeFeed taskChangeFeed;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader itemReader;
+    private final int batchSize;
+
+    public TaskImportService(TaskImportJobRepository taskImportJobRepository,
+                             TaskRepository taskRepository,
+                             CommentRepository commentRepository,
+                             UserRepository userRepository,
+                             UserService userService,
+                             TaskChangeLog taskChangeLog,
+                             TaskOutbox taskOutbox,
+                             TaskChangeFeed taskChangeFeed,
+                             Validator validator,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${task.import.batch-size:1000}") int batchSize) {
+        this.taskImportJobRepository = taskImportJobRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.taskChangeLog = taskChangeLog;
+        this.taskOutbox = taskOutbox;
+        this.taskChangeFeed = taskChangeFeed;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.itemReader = objectMapper.readerFor(TaskImportItem.class);
+        this.batchSize = batchSize;
+    }
+
+    // jobId передаётся при повторной загрузке того же файла после сбоя
+    public TaskImportResponse importTasks(InputStream input, Long jobId) {
+        TaskImportJob job = jobId == null ? startJob() : resumeJob(jobId);
+        List<TaskImportLineError> errors = new ArrayList<>();
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), IMPORT_BUFFER_SIZE);
+            List<ImportLine> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= job.getProcessedLines()) {
+                    continue;
+                }
+
+                batch.add(new ImportLine(lineNumber, line));
+                if (batch.size() == batchSize) {
+                    job = importBatch(job.getId(), batch, errors);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                job = importBatch(job.getId(), batch, errors);
+            }
+        } catch (IOException e) {
+            finishJob(job.getId(), TaskImportStatus.FAILED, e.getMessage());
+            throw new UncheckedIOException("Не удалось прочитать файл импорта", e);
+        } catch (RuntimeException e) {
+            finishJob(job.getId(), TaskImportStatus.FAILED, e.getMessage());
+            throw e;
+        }
+
+        return mapToResponse(finishJob(job.getId(), TaskImportStatus.COMPLETED, null), errors);
+    }
+
+    public TaskImportResponse getImportJob(Long jobId) {
+        return mapToResponse(getJob(jobId), List.of());
+    }
+
+    private TaskImportJob startJob() {
+        return taskImportJobRepository.save(new TaskImportJob(userService.getCurrentUser().getId()));
+    }
+
+    private TaskImportJob resumeJob(Long jobId) {
+        TaskImportJob job = getJob(jobId);
+        if (job.getStatus() == TaskImportStatus.COMPLETED) {
+            throw new TaskCreationException("Импорт с айди " + jobId + " уже завершён");
+        }
+
+        job.setStatus(TaskImportStatus.RUNNING);
+        job.setError(null);
+        job.setUpdatedAt(Instant.now());
+        return taskImportJobRepository.save(job);
+    }
+
+    private TaskImportJob finishJob(Long jobId, TaskImportStatus status, String error) {
+        return transactionTemplate.execute(transaction -> {
+            TaskImportJob job = getJob(jobId);
+            job.setStatus(status);
+            job.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            job.setUpdatedAt(Instant.now());
+            return job;
+        });
+    }
+
+    private TaskImportJob getJob(Long jobId) {
+        return taskImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new TaskImportJobNotFoundException("Импорт с айди " + jobId + " не найден"));
+    }
+
+    private TaskImportJob importBatch(Long jobId, List<ImportLine> lines, List<TaskImportLineError> errors) {
+        return transactionTemplate.execute(transaction -> {
+            // Порция уходит в базу JDBC-пакетами своего размера, импортируемые задачи не кладутся в кэш второго уровня
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            session.setCacheMode(CacheMode.IGNORE);
+
+            TaskImportJob job = getJob(jobId);
+            User defaultAuthor = userRepository.getReferenceById(job.getAuthorId());
+
+            Map<Long, TaskImportItem> items = new LinkedHashMap<>();
+            long failed = 0;
+            for (ImportLine line : lines) {
+                if (line.content().isBlank()) {
+                    continue;
+                }
+
+                try {
+                    items.put(line.number(), itemReader.readValue(line.content()));
+                } catch (JsonProcessingException e) {
+                    failed++;
+                    reportError(errors, line.number(), "Некорректная строка: " + e.getOriginalMessage());
+                }
+            }
+
+            Map<String, User> usersByEmail = resolveUsers(items.values());
+
+            List<Task> tasks = new ArrayList<>(items.size());
+            List<Comment> comments = new ArrayList<>();
+            for (Map.Entry<Long, TaskImportItem> entry : items.entrySet()) {
+                TaskImportItem item = entry.getValue();
+                String error = validateItem(item, usersByEmail);
+                if (error != null) {
+                    failed++;
+                    reportError(errors, entry.getKey(), error);
+                    continue;
+                }
+
+                Task task = new Task();
+                task.setTitle(item.getTitle());
+                task.setDescription(item.getDescription());
+                task.setPriority(item.getPriority());
+                task.setStatus(item.getStatus() != null ? item.getStatus() : TaskStatus.TODO);
+                task.setAuthor(item.getAuthorEmail() != null ? usersByEmail.get(item.getAuthorEmail()) : defaultAuthor);
+                task.setAssignees(item.getAssigneeEmails().stream()
+                        .map(usersByEmail::get)
+                        .collect(Collectors.toSet()));
+                tasks.add(task);
+
+                for (TaskImportComment importComment : Objects.requireNonNullElse(item.getComments(), List.<TaskImportComment>of())) {
+                    Comment comment = new Comment();
+                    comment.setTask(task);
+                    comment.setAuthor(importComment.getAuthorEmail() != null
+                            ? usersByEmail.get(importComment.getAuthorEmail())
+                            : task.getAuthor());
+                    comment.setContent(importComment.getContent());
+                    comments.add(comment);
+                }
+            }
+
+            taskRepository.saveAll(tasks);
+            commentRepository.saveAll(comments);
+
+            List<Long> taskIds = tasks.stream().map(Task::getId).toList();
+            taskChangeLog.tasksChanged(taskIds);
+            tasks.stream()
+                    .collect(Collectors.groupingBy(Task::getStatus, Collectors.mapping(Task::getId, Collectors.toList())))
+                    .forEach((status, ids) -> {
+                        taskOutbox.append(TaskChangeType.CREATED, ids, status);
+                        taskChangeFeed.publish(TaskChangeType.CREATED, ids, status);
+                    });
+
+            job.setProcessedLines(lines.getLast().number());
+            job.setImportedTasks(job.getImportedTasks() + tasks.size());
+            job.setImportedComments(job.getImportedComments() + comments.size());
+            job.setFailedLines(job.getFailedLines() + failed);
+            job.setUpdatedAt(Instant.now());
+
+            // Контекст живёт весь запрос, поэтому сохранённая порция из него убирается
+            entityManager.flush();
+            entityManager.clear();
+            return job;
+        });
+    }
+
+    // Все email порции ищутся одним запросом
+    private Map<String, User> resolveUsers(Collection<TaskImportItem> items) {
+        Set<String> emails = new HashSet<>();
+        for (TaskImportItem item : items) {
+            if (item.getAuthorEmail() != null) {
+                emails.add(item.getAuthorEmail());
+            }
+            if (item.getAssigneeEmails() != null) {
+                emails.addAll(item.getAssigneeEmails());
+            }
+            if (item.getComments() != null) {
+                item.getComments().stream()
+                        .map(TaskImportComment::getAuthorEmail)
+                        .filter(Objects::nonNull)
+                        .forEach(emails::add);
+            }
+        }
+        emails.remove(null);
+
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+
+        return userRepository.findAllByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, user -> user));
+    }
+
+    // Задача и комментарии проверяются теми же правилами, что и при создании через API
+    private String validateItem(TaskImportItem item, Map<String, User> usersByEmail) {
+        if (item.getAuthorEmail() != null) {
+            User author = usersByEmail.get(item.getAuthorEmail());
+            if (author == null) {
+                return "Пользователь с email " + item.getAuthorEmail() + " не найден";
+            }
+            // Как и в createTask, автором задачи может быть только администратор
+            if (!author.getRole().equals(Role.ADMIN)) {
+                return "Пользователь с email " + item.getAuthorEmail() + " не является администратором и не может быть автором задачи";
+            }
+        }
+
+        Set<Long> assigneeIds = new HashSet<>();
+        for (String email : Objects.requireNonNullElse(item.getAssigneeEmails(), Set.<String>of())) {
+            User user = usersByEmail.get(email);
+            if (user == null) {
+                return "Пользователь с email " + email + " не найден";
+            }
+            assigneeIds.add(user.getId());
+        }
+
+        String error = firstViolation(new TaskCreateRequest(item.getTitle(), item.getDescription(), item.getPriority(), assigneeIds));
+        if (error != null) {
+            return error;
+        }
+
+        for (TaskImportComment comment : Objects.requireNonNullElse(item.getComments(), List.<TaskImportComment>of())) {
+            if (comment.getAuthorEmail() != null && !usersByEmail.containsKey(comment.getAuthorEmail())) {
+                return "Пользователь с email " + comment.getAuthorEmail() + " не найден";
+            }
+
+            error = firstViolation(new CommentCreateRequest(comment.getContent()));
+            if (error != null) {
+                return error;
+            }
+        }
+
+        return null;
+    }
+
+    private String firstViolation(Object request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void reportError(List<TaskImportLineError> errors, long line, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new TaskImportLineError(line, message));
+        }
+    }
+
+    private TaskImportResponse mapToResponse(TaskImportJob job, List<TaskImportLineError> errors) {
+        return new TaskImportResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getProcessedLines(),
+                job.getImportedTasks(),
+                job.getImportedComments(),
+                job.getFailedLines(),
+                job.getError(),
+                errors);
+    }
+
+    private record ImportLine(long number, String content) {
+    }
+}
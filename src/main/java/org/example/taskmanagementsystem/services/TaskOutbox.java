@@ -0,0 +1,37 @@
+package org.example.taskmanagementsystem.services;
+
+import lombok.AllArgsConstructor;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.models.TaskOutboxEvent;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.example.taskmanagementsystem.repositories.TaskOutboxEventRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+// События пишутся в той же транзакции, что и изменение задачи, и попадают в журнал только после коммита
+@Component
+@AllArgsConstructor
+public class TaskOutbox {
+    private final TaskOutboxEventRepository taskOutboxEventRepository;
+
+    public void append(TaskChangeType type, Long taskId, TaskStatus status) {
+        append(type, List.of(taskId), status);
+    }
+
+    public void append(TaskChangeType type, Collection<Long> taskIds, TaskStatus status) {
+        Long actorId = currentActorId();
+        taskOutboxEventRepository.saveAll(taskIds.stream()
+                .map(taskId -> new TaskOutboxEvent(type, taskId, actorId, status))
+                .toList());
+    }
+
+    private Long currentActorId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.taskmanagementsystem.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Собранные TaskResponse по id задачи. Каждая запись задачи или её комментариев увеличивает поколение задачи,
+// и ответ, собранный до записи, в кэш уже не попадёт. Поколения хранятся по полосам, так что память не растёт
+// с числом задач, а совпадение полос лишь изредка мешает закэшировать ответ.
+// Изменения пользователей (роль, email) сюда не доходят: их устаревание ограничено временем жизни записи
+@Component
+public class TaskResponseCache implements MeterBinder {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, TaskResponse> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public TaskResponseCache(@Value("${task.response-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${task.response-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = maximumSize > 0 ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build() : null;
+    }
+
+    // Загрузчик должен читать все данные сам: поколение фиксируется до его вызова
+    public TaskResponse get(Long taskId, Supplier<TaskResponse> loader) {
+        TaskResponse response = getIfPresent(taskId);
+        return response != null ? response : load(taskId, loader);
+    }
+
+    public TaskResponse getIfPresent(Long taskId) {
+        return cache != null ? cache.getIfPresent(taskId) : null;
+    }
+
+    // Загрузчик вызывается всегда, даже если запись успела появиться: в нём могут быть проверки прав
+    public TaskResponse load(Long taskId, Supplier<TaskResponse> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        long generation = generations.get(stripe(taskId));
+        TaskResponse loaded = loader.get();
+        cache.asMap().compute(taskId, (id, current) -> generations.get(stripe(id)) == generation ? loaded : current);
+        return loaded;
+    }
+
+    // Внутри транзакции запись сбрасывается сразу и ещё раз после её завершения,
+    // чтобы ответ, собранный по данным до коммита, не остался в кэше
+    public void invalidate(Long taskId) {
+        invalidate(List.of(taskId));
+    }
+
+    public void invalidate(Collection<Long> taskIds) {
+        if (cache == null || taskIds.isEmpty()) {
+            return;
+        }
+
+        evict(taskIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(taskIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    public long hitCount() {
+        return cache != null ? cache.stats().hitCount() : 0;
+    }
+
+    public long missCount() {
+        return cache != null ? cache.stats().missCount() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "taskResponses");
+        }
+    }
+
+    private void evict(Collection<Long> taskIds) {
+        for (Long taskId : taskIds) {
+            cache.asMap().compute(taskId, (id, current) -> {
+                generations.incrementAndGet(stripe(id));
+                return null;
+            });
+        }
+    }
+
+    private static int stripe(Long taskId) {
+        return Long.hashCode(taskId) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -1,46 +1,111 @@
 package org.example.taskmanagementsystem.services;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import org.example.taskmanagementsystem.dto.*;
 import org.example.taskmanagementsystem.exception.*;
 import org.example.taskmanagementsystem.models.*;
 import org.example.taskmanagementsystem.repositories.CommentRepository;
+import org.example.taskmanagementsystem.repositories.TaskChangeRepository;
 import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.TaskSpecifications;
 import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskCommentRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskRevisionRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.example.taskmanagementsystem.util.TaskCursor;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
 public class TaskService {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int MAX_CREATE_BATCH_SIZE = 1000;
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+    private static final String STALE_VERSION_MESSAGE = "Задача была изменена другим пользователем, обновите данные и повторите запрос";
+
+    // Таймеры регистрируются в глобальном реестре Micrometer, к которому Spring Boot подключает реестр приложения
+    private static final Timer TASK_MAPPING_TIMER = Timer.builder("task.response.mapping")
+            .tag("source", "single")
+            .register(Metrics.globalRegistry);
+    private static final Timer PAGE_MAPPING_TIMER = Timer.builder("task.response.mapping")
+            .tag("source", "projection")
+            .register(Metrics.globalRegistry);
+
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
+    private final Validator validator;
+    private final TaskAccessService taskAccessService;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskChangeLog taskChangeLog;
+    private final TaskOutbox taskOutbox;
+    private final TaskChangeRepository taskChangeRepository;
+    private final ConcurrentReads concurrentReads;
 
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream().map(this::mapToTaskResponse).toList();
+        List<TaskSummary> tasks = taskRepository.findAllSummaries();
+        return mapToTaskResponses(tasks);
     }
 
+    // Задачи читаются курсором и отдаются порциями, в памяти держится только текущая порция
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<TaskResponse> consumer) {
+        try (Stream<TaskSummary> tasks = taskRepository.streamAllSummaries()) {
+            streamInBatches(tasks, consumer);
+        }
+    }
+
+    // Выгрузка для администратора с теми же фильтрами, что и поиск, без подсчёта общего количества
+    @Transactional(readOnly = true)
+    public void exportTasks(TaskSearchRequest request, Consumer<TaskResponse> consumer) {
+        try (Stream<TaskSummary> tasks = taskRepository.streamSummaries(TaskSpecifications.matching(request))) {
+            streamInBatches(tasks, consumer);
+        }
+    }
+
+    // Права проверяются при каждом запросе, из кэша берётся только собранный ответ. Без кэша права вместе с задачей,
+    // исполнители и комментарии читаются параллельно, и отказ в доступе отменяет ещё не начатые чтения.
+    // Транзакции здесь нет намеренно: каждое чтение берёт своё соединение, см. ConcurrentReads
     public TaskResponse getTaskById(long taskId) {
-        Task task = getTask(taskId);
-        boolean hasAccess = hasTaskAccess(taskId);
+        User user = userService.getCurrentUser();
 
-        if (hasAccess) {
-            return mapToTaskResponse(task);
-        } else {
-            throw new UnauthorizedAccessException("У вас не прав на просмотр данной задачи");
+        TaskResponse cached = taskResponseCache.getIfPresent(taskId);
+        if (cached != null) {
+            checkTaskAccess(user, taskId);
+            return cached;
         }
+
+        return taskResponseCache.load(taskId, () -> TASK_MAPPING_TIMER.record(() -> loadTaskResponse(user, taskId)));
     }
 
+    // Для If-None-Match: права и версия читаются одним запросом, ответ не собирается
+    public long getTaskVersion(long taskId) {
+        return taskAccessService.findAccessibleVersion(userService.getCurrentUser(), taskId)
+            .orElseThrow(() -> new UnauthorizedAccessException("У вас не прав на просмотр данной задачи"));
+    }
+
+    @Transactional
     public void createTask(TaskCreateRequest taskCreateRequest, User author) {
         Task task = new Task();
         task.setTitle(taskCreateRequest.getTitle());
@@ -57,11 +122,114 @@ public class TaskService {
         task.setAssignees(assignees);
 
         taskRepository.save(task);
+        taskChangeLog.taskChanged(task.getId());
+        taskOutbox.append(TaskChangeType.CREATED, task.getId(), task.getStatus());
+        taskChangeFeed.publish(TaskChangeType.CREATED, task.getId(), task.getStatus());
+    }
+
+    // Исполнители всех задач пакета загружаются одним запросом, задачи вставляются JDBC-пакетами.
+    // Ошибка в одной задаче не мешает созданию остальных
+    @Transactional
+    public List<TaskBatchItemResult> createTasks(List<TaskCreateRequest> taskCreateRequests, User author) {
+        if (taskCreateRequests.isEmpty()) {
+            throw new TaskCreationException("Список задач не может быть пустым");
+        }
+        if (taskCreateRequests.size() > MAX_CREATE_BATCH_SIZE) {
+            throw new TaskCreationException("За один запрос можно создать не более " + MAX_CREATE_BATCH_SIZE + " задач");
+        }
+
+        Set<Long> assigneeIds = taskCreateRequests.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCreateRequest::getAssigneeIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        Map<Long, User> assigneesById = userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        List<TaskBatchItemResult> results = new ArrayList<>(taskCreateRequests.size());
+        Map<Integer, Task> tasksByIndex = new LinkedHashMap<>();
+
+        for (int i = 0; i < taskCreateRequests.size(); i++) {
+            TaskCreateRequest taskCreateRequest = taskCreateRequests.get(i);
+            String error = validateBatchItem(taskCreateRequest);
+
+            Set<User> assignees = new HashSet<>();
+            if (error == null) {
+                taskCreateRequest.getAssigneeIds().stream()
+                        .map(assigneesById::get)
+                        .filter(Objects::nonNull)
+                        .forEach(assignees::add);
+
+                if (assignees.isEmpty()) {
+                    error = "Не найдено ни одного пользователя для назначения задачи";
+                }
+            }
+
+            if (error != null) {
+                results.add(new TaskBatchItemResult(i, false, null, error));
+                continue;
+            }
+
+            Task task = new Task();
+            task.setTitle(taskCreateRequest.getTitle());
+            task.setDescription(taskCreateRequest.getDescription());
+            task.setPriority(taskCreateRequest.getPriority());
+            task.setStatus(TaskStatus.TODO);
+            task.setAuthor(author);
+            task.setAssignees(assignees);
+
+            tasksByIndex.put(i, task);
+            results.add(new TaskBatchItemResult(i, true, null, "Задача успешно создана"));
+        }
+
+        taskRepository.saveAll(tasksByIndex.values());
+        taskRepository.flush();
+
+        List<Long> createdIds = tasksByIndex.values().stream().map(Task::getId).toList();
+        tasksByIndex.forEach((index, task) -> results.get(index).setTaskId(task.getId()));
+        taskChangeLog.tasksChanged(createdIds);
+        taskOutbox.append(TaskChangeType.CREATED, createdIds, TaskStatus.TODO);
+        taskChangeFeed.publish(TaskChangeType.CREATED, createdIds, TaskStatus.TODO);
+        return results;
     }
 
-    public void editTask( Long taskId, TaskEditRequest taskEditRequest) {
+    // Название, описание, приоритет и статус меняются одним UPDATE без загрузки задачи, версия сверяется
+    // в том же запросе. Исполнители меняются через сущность: это строки task_assignees, а не поля задачи
+    @Transactional
+    public void editTask(Long taskId, TaskEditRequest taskEditRequest, TaskVersionTag expectedVersion) {
+        String title = nonBlankOrNull(taskEditRequest.getTitle());
+        String description = nonBlankOrNull(taskEditRequest.getDescription());
+        TaskPriority priority = taskEditRequest.getPriority();
+        TaskStatus status = taskEditRequest.getStatus();
+
+        if (taskEditRequest.getAssigneeIds() != null || (title == null && description == null && priority == null && status == null)) {
+            editTaskEntity(taskId, taskEditRequest, expectedVersion);
+            return;
+        }
+
+        int updated = taskRepository.updateFields(taskId, title, description, priority, status, versionOrNull(expectedVersion));
+        if (updated == 0) {
+            if (!taskRepository.existsById(taskId)) {
+                throw new TaskNotFoundException("Такой задачи не существует");
+            }
+            throw new TaskVersionMismatchException(STALE_VERSION_MESSAGE);
+        }
+
+        // Строка уже заблокирована нашим UPDATE, поэтому статус до коммита не изменится
+        TaskStatus currentStatus = status != null ? status : taskRepository.findStatusById(taskId)
+            .orElseThrow(() -> new TaskNotFoundException("Такой задачи не существует"));
+
+        taskResponseCache.invalidate(taskId);
+        taskChangeLog.taskChanged(taskId);
+        taskOutbox.append(TaskChangeType.UPDATED, taskId, currentStatus);
+        taskChangeFeed.publish(TaskChangeType.UPDATED, taskId, currentStatus);
+    }
+
+    private void editTaskEntity(Long taskId, TaskEditRequest taskEditRequest, TaskVersionTag expectedVersion) {
         Task task = taskRepository.findById(taskId)
             .orElseThrow(() -> new TaskNotFoundException("Такой задачи не существует"));
+        checkVersion(task, expectedVersion);
 
         if (taskEditRequest.getTitle() != null && !taskEditRequest.getTitle().isBlank()) {
             task.setTitle(taskEditRequest.getTitle());
@@ -79,7 +247,13 @@ public class TaskService {
             task.setStatus(taskEditRequest.getStatus());
         }
 
+        Set<Long> removedAssigneeIds = Set.of();
         if (taskEditRequest.getAssigneeIds() != null) {
+            removedAssigneeIds = task.getAssignees().stream()
+                .map(User::getId)
+                .filter(userId -> !taskEditRequest.getAssigneeIds().contains(userId))
+                .collect(Collectors.toSet());
+
             Set<User> users = taskEditRequest.getAssigneeIds().stream()
                 .map(userId -> userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с айди " + userId + " не найден")))
@@ -89,78 +263,193 @@ public class TaskService {
         }
 
         taskRepository.save(task);
+        taskResponseCache.invalidate(taskId);
+        taskChangeLog.taskChanged(taskId);
+        taskChangeLog.taskRemoved(taskId, removedAssigneeIds);
+        taskOutbox.append(TaskChangeType.UPDATED, taskId, task.getStatus());
+        taskChangeFeed.publish(TaskChangeType.UPDATED, taskId, task.getStatus(), removedAssigneeIds);
     }
 
+    // В транзакции событие об удалении уходит подписчикам только после коммита
+    @Transactional
     public void deleteTask(Long taskId) {
         if (!taskRepository.existsById(taskId)) {
             throw new TaskNotFoundException("Задача с айди " + taskId + " не найдена");
         }
 
+        taskChangeLog.taskDeleted(taskId, taskRepository.findAssigneeIdsByTaskId(taskId));
+        taskOutbox.append(TaskChangeType.DELETED, taskId, null);
+        taskChangeFeed.publish(TaskChangeType.DELETED, taskId, null);
         taskRepository.deleteById(taskId);
+        taskResponseCache.invalidate(taskId);
     }
 
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksByAuthor(Long authorId, TaskPriority priority, TaskStatus status, int page, int size) {
-        User user = userRepository.findById(authorId)
-            .orElseThrow(() -> new UserNotFoundException("Такого пользователя не существует"));
+        checkAuthorIsAdmin(authorId);
 
-        if (!user.getRole().equals(Role.ADMIN)) {
-            throw new UserIsNotAdminException("Данный пользователь не является администратором и не может создавать задачи");
-        }
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setAuthorId(authorId);
+        request.setPriorities(priority != null ? Set.of(priority) : null);
+        request.setStatuses(status != null ? Set.of(status) : null);
 
-        Pageable pageable = PageRequest.of(page, size);
+        return findTaskPage(request, page, size);
+    }
 
-        Page<Task> tasks;
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getTasksByAssignee(Long assigneeId, TaskPriority priority, TaskStatus status, int page, int size) {
+        checkAssigneeListAccess(assigneeId);
 
-        if (priority != null && status != null) {
-            tasks = taskRepository.findByAuthorIdAndPriorityAndStatus(authorId, priority, status, pageable);
-        } else if (priority != null) {
-            tasks = taskRepository.findByAuthorIdAndPriority(authorId, priority, pageable);
-        } else if (status != null) {
-            tasks = taskRepository.findByAuthorIdAndStatus(authorId, status, pageable);
-        } else {
-            tasks = taskRepository.findByAuthorId(authorId, pageable);
-        }
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setAssigneeId(assigneeId);
+        request.setPriorities(priority != null ? Set.of(priority) : null);
+        request.setStatuses(status != null ? Set.of(status) : null);
 
-        return tasks.map(this::mapToTaskResponse);
+        return findTaskPage(request, page, size);
     }
 
+    // Администратор ищет по всем задачам, исполнитель — только по назначенным ему
     @Transactional(readOnly = true)
-    public Page<TaskResponse> getTasksByAssignee(Long assigneeId, TaskPriority priority, TaskStatus status, int page, int size) {
-        if (!hasTaskListByAssigneeIdAccess(assigneeId)) {
-            throw new UnauthorizedAccessException("У вас нет прав на просмотр данной информации");
+    public Page<TaskResponse> searchTasks(TaskSearchRequest request, int page, int size) {
+        User currentUser = userService.getCurrentUser();
+
+        if (!currentUser.getRole().equals(Role.ADMIN)) {
+            if (request.getAssigneeId() != null && !request.getAssigneeId().equals(currentUser.getId())) {
+                throw new UnauthorizedAccessException("У вас нет прав на просмотр данной информации");
+            }
+            request.setAssigneeId(currentUser.getId());
         }
 
-        if (!userRepository.existsById(assigneeId)) {
-            throw new UserNotFoundException("Такого пользователя не существует");
+        return findTaskPage(request, page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getTasksByAuthorAfter(Long authorId, TaskPriority priority, TaskStatus status, String after, int size) {
+        checkAuthorIsAdmin(authorId);
+
+        TaskCursor cursor = TaskCursor.decode(after);
+        Slice<TaskSummary> tasks = taskRepository.findByAuthorIdAfter(authorId, cursor.lastId(), priority, status, PageRequest.of(0, size));
+
+        return mapToTaskSliceResponse(tasks);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getTasksByAssigneeAfter(Long assigneeId, TaskPriority priority, TaskStatus status, String after, int size) {
+        checkAssigneeListAccess(assigneeId);
+
+        TaskCursor cursor = TaskCursor.decode(after);
+        Slice<TaskSummary> tasks = taskRepository.findByAssigneeIdAfter(assigneeId, cursor.lastId(), priority, status, PageRequest.of(0, size));
+
+        return mapToTaskSliceResponse(tasks);
+    }
+
+    // Права, версия и новый статус проверяются и записываются одним UPDATE, задача не загружается.
+    // Только если строка не изменилась, отдельный запрос выясняет причину: задачи нет, нет прав или версия устарела
+    @Transactional
+    public void updateTaskStatus(Long taskId, TaskStatus newStatus, TaskVersionTag expectedVersion) {
+        User user = userService.getCurrentUser();
+        Long assigneeId = user.getRole().equals(Role.ADMIN) ? null : user.getId();
+
+        int updated = taskRepository.updateStatusIfAccessible(taskId, newStatus, assigneeId, versionOrNull(expectedVersion));
+        if (updated == 0) {
+            if (taskAccessService.findAccessibleVersion(user, taskId).isEmpty()) {
+                throw new UnauthorizedAccessException("У вас нет прав на изменение статуса этой задачи");
+            }
+            throw new TaskVersionMismatchException(STALE_VERSION_MESSAGE);
         }
 
-        Pageable pageable = PageRequest.of(page, size);
+        taskResponseCache.invalidate(taskId);
+        taskChangeLog.taskChanged(taskId);
+        taskOutbox.append(TaskChangeType.STATUS_CHANGED, taskId, newStatus);
+        taskChangeFeed.publish(TaskChangeType.STATUS_CHANGED, taskId, newStatus);
+    }
+
+    // Права на весь набор проверяются одним запросом, статус меняется одним UPDATE без загрузки задач.
+    // UPDATE повторяет условие доступа: если права отозвали между запросами, задача попадает в отказанные
+    @Transactional
+    public TaskBulkStatusUpdateResponse updateTaskStatuses(Set<Long> taskIds, TaskStatus newStatus) {
+        User user = userService.getCurrentUser();
+        TaskAccessCheck access = taskAccessService.check(user, taskIds);
+        if (access.allowedIds().isEmpty()) {
+            return new TaskBulkStatusUpdateResponse(List.of(), access.deniedIds(), access.notFoundIds());
+        }
 
-        Page<Task> tasks;
+        Long assigneeId = user.getRole().equals(Role.ADMIN) ? null : user.getId();
+        List<Long> updatedIds = taskRepository.updateStatusesIfAccessible(access.allowedIds(), newStatus, assigneeId);
+        List<Long> deniedIds = access.deniedIds();
+        List<Long> notFoundIds = access.notFoundIds();
+
+        if (updatedIds.size() < access.allowedIds().size()) {
+            TaskAccessCheck missed = taskAccessService.check(user, access.allowedIds().stream()
+                    .filter(taskId -> !updatedIds.contains(taskId))
+                    .toList());
+            deniedIds = Stream.of(deniedIds, missed.allowedIds(), missed.deniedIds()).flatMap(List::stream).sorted().toList();
+            notFoundIds = Stream.of(notFoundIds, missed.notFoundIds()).flatMap(List::stream).sorted().toList();
+        }
 
-        if (priority != null && status != null) {
-            tasks = taskRepository.findByAssigneeIdAndPriorityAndStatus(assigneeId, priority, status, pageable);
-        } else if (priority != null) {
-            tasks = taskRepository.findByAssigneeIdAndPriority(assigneeId, priority, pageable);
-        } else if (status != null) {
-            tasks = taskRepository.findByAssigneeIdAndStatus(assigneeId, status, pageable);
-        } else {
-            tasks = taskRepository.findByAssigneeId(assigneeId, pageable);
+        if (!updatedIds.isEmpty()) {
+            taskResponseCache.invalidate(updatedIds);
+            taskChangeLog.tasksChanged(updatedIds);
+            taskOutbox.append(TaskChangeType.STATUS_CHANGED, updatedIds, newStatus);
+            taskChangeFeed.publish(TaskChangeType.STATUS_CHANGED, updatedIds, newStatus);
         }
 
-        return tasks.map(this::mapToTaskResponse);
+        return new TaskBulkStatusUpdateResponse(updatedIds, deniedIds, notFoundIds);
     }
 
-    public void updateTaskStatus(Long taskId, TaskStatus newStatus) {
-        if (hasTaskAccess(taskId)) {
-            Task task = getTask(taskId);
+    // Без since возвращается только текущая ревизия: клиент запоминает её до первой полной загрузки задач.
+    // Задачи отдаются в текущем виде по последней ревизии, removedTaskIds нужно убрать у клиента.
+    // Если с ревизии since ничего не менялось, ответ собирается без запросов к базе
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getTaskChanges(Long since, int size) {
+        if (size < 1 || size > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + MAX_CHANGES_PAGE_SIZE);
+        }
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("Ревизия не может быть отрицательной");
+        }
 
-            task.setStatus(newStatus);
-            taskRepository.save(task);
-        } else {
-            throw new UnauthorizedAccessException("У вас нет прав на изменение статуса этой задачи");
+        long until = taskChangeLog.visibleRevision();
+        if (since == null || since >= until) {
+            return new TaskChangesResponse(List.of(), List.of(), since == null ? until : since, false);
         }
+
+        User user = userService.getCurrentUser();
+        boolean isAdmin = user.getRole().equals(Role.ADMIN);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<TaskRevisionRow> changed = isAdmin
+                ? taskChangeRepository.findChangedTasks(since, until, limit)
+                : taskChangeRepository.findChangedTasksByAssigneeId(user.getId(), since, until, limit);
+        List<TaskRevisionRow> removed = isAdmin
+                ? taskChangeRepository.findDeletedTasks(since, until, limit)
+                : taskChangeRepository.findRemovedTasksByUserId(user.getId(), since, until, limit);
+
+        List<TaskRevisionRow> page = Stream.concat(changed.stream(), removed.stream())
+                .sorted(Comparator.comparing(TaskRevisionRow::revision))
+                .limit(size)
+                .toList();
+        boolean hasMore = changed.size() + removed.size() > size;
+
+        // Задача, которая снова доступна, изменена позже записи об удалении, поэтому удаление не отдаётся
+        Set<TaskRevisionRow> changedRows = new HashSet<>(changed);
+        List<Long> changedIds = page.stream().filter(changedRows::contains).map(TaskRevisionRow::taskId).toList();
+        Set<Long> changedIdSet = new HashSet<>(changedIds);
+        List<Long> removedIds = page.stream()
+                .filter(row -> !changedRows.contains(row) && !changedIdSet.contains(row.taskId()))
+                .map(TaskRevisionRow::taskId)
+                .toList();
+
+        Map<Long, TaskSummary> summariesById = changedIds.isEmpty() ? Map.of() : taskRepository.findSummariesByIdIn(changedIds).stream()
+                .collect(Collectors.toMap(TaskSummary::id, summary -> summary));
+        List<TaskSummary> summaries = changedIds.stream().map(summariesById::get).filter(Objects::nonNull).toList();
+
+        long revision = hasMore ? page.getLast().revision() : until;
+        return new TaskChangesResponse(mapToTaskResponses(summaries), removedIds, revision, hasMore);
+    }
+
+    public SseEmitter subscribeToChanges() {
+        return taskChangeFeed.subscribe(userService.getCurrentUser());
     }
 
     public Task getTask(Long taskId) {
@@ -168,6 +457,53 @@ public class TaskService {
             .orElseThrow(() -> new TaskNotFoundException("Такой задачи не существует"));
     }
 
+    // Отсоединённая задача сохраняется через merge, который сверяет версию с базой,
+    // поэтому изменение между этой проверкой и сохранением тоже не перезапишется молча
+    private void checkVersion(Task task, TaskVersionTag expectedVersion) {
+        if (expectedVersion != null && (task.getVersion() == null || task.getVersion() != expectedVersion.version())) {
+            throw new TaskVersionMismatchException(STALE_VERSION_MESSAGE);
+        }
+    }
+
+    private static Long versionOrNull(TaskVersionTag expectedVersion) {
+        return expectedVersion != null ? expectedVersion.version() : null;
+    }
+
+    private static String nonBlankOrNull(String value) {
+        return value != null && !value.isBlank() ? value : null;
+    }
+
+    private String validateBatchItem(TaskCreateRequest taskCreateRequest) {
+        if (taskCreateRequest == null) {
+            return "Данные задачи не переданы";
+        }
+
+        return validator.validate(taskCreateRequest).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void checkAuthorIsAdmin(Long authorId) {
+        User user = userRepository.findById(authorId)
+            .orElseThrow(() -> new UserNotFoundException("Такого пользователя не существует"));
+
+        if (!user.getRole().equals(Role.ADMIN)) {
+            throw new UserIsNotAdminException("Данный пользователь не является администратором и не может создавать задачи");
+        }
+    }
+
+    private void checkAssigneeListAccess(Long assigneeId) {
+        if (!hasTaskListByAssigneeIdAccess(assigneeId)) {
+            throw new UnauthorizedAccessException("У вас нет прав на просмотр данной информации");
+        }
+
+        if (!userRepository.existsById(assigneeId)) {
+            throw new UserNotFoundException("Такого пользователя не существует");
+        }
+    }
+
     public boolean hasTaskListByAssigneeIdAccess(Long assigneeId) {
         User user = userService.getCurrentUser();
 
@@ -175,50 +511,122 @@ public class TaskService {
     }
 
     public boolean hasTaskAccess(Long taskId) {
-        User currentUser = userService.getCurrentUser();
-        Task task = getTask(taskId);
-
-        boolean isUserAdmin = currentUser.getRole().equals(Role.ADMIN);
-        boolean isUserAssigned = task.getAssignees().contains(currentUser);
-
-        return isUserAssigned || isUserAdmin;
-    }
-
-    private TaskResponse mapToTaskResponse(Task task) {
-        TaskResponse response = new TaskResponse();
-        response.setId(task.getId());
-        response.setTitle(task.getTitle());
-        response.setDescription(task.getDescription());
-        response.setPriority(task.getPriority());
-        response.setStatus(task.getStatus());
-
-        Set<UserResponse> assignees = task.getAssignees().stream()
-            .map(user -> {
-                UserResponse userResponse = new UserResponse();
-                userResponse.setId(user.getId());
-                userResponse.setEmail(user.getEmail());
-                userResponse.setRole(user.getRole());
-                return userResponse;
-            }).collect(Collectors.toSet());
-
-        response.setAssignees(assignees);
-        UserResponse author = new UserResponse();
-        author.setId(task.getAuthor().getId());
-        author.setEmail(task.getAuthor().getEmail());
-        author.setRole(task.getAuthor().getRole());
-
-        response.setAuthor(author);
-
-        List<CommentResponse> comments = commentRepository.findByTaskId(task.getId()).stream()
-                .map(comment -> {
-                    CommentResponse commentResponse = new CommentResponse();
-                    commentResponse.setId(comment.getId());
-                    commentResponse.setContent(comment.getContent());
-                    commentResponse.setAuthorEmail(comment.getAuthor().getEmail());
-                    return commentResponse;
-                }).toList();
-
-        response.setComments(comments);
-        return response;
+        return taskAccessService.hasAccess(userService.getCurrentUser(), taskId);
+    }
+
+    private void checkTaskAccess(User user, long taskId) {
+        if (!taskAccessService.hasAccess(user, taskId)) {
+            throw new UnauthorizedAccessException("У вас не прав на просмотр данной задачи");
+        }
+    }
+
+    private void streamInBatches(Stream<TaskSummary> tasks, Consumer<TaskResponse> consumer) {
+        List<TaskSummary> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+
+        tasks.forEach(task -> {
+            batch.add(task);
+            if (batch.size() == STREAM_BATCH_SIZE) {
+                flushStreamBatch(batch, consumer);
+            }
+        });
+
+        flushStreamBatch(batch, consumer);
+    }
+
+    private void flushStreamBatch(List<TaskSummary> batch, Consumer<TaskResponse> consumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        mapToTaskResponses(batch).forEach(consumer);
+        batch.clear();
+    }
+
+    private Page<TaskResponse> findTaskPage(TaskSearchRequest request, int page, int size) {
+        Page<TaskSummary> tasks = taskRepository.findSummaries(TaskSpecifications.matching(request), PageRequest.of(page, size));
+        return new PageImpl<>(mapToTaskResponses(tasks.getContent()), tasks.getPageable(), tasks.getTotalElements());
+    }
+
+    private TaskSliceResponse mapToTaskSliceResponse(Slice<TaskSummary> tasks) {
+        List<TaskSummary> content = tasks.getContent();
+        String nextCursor = tasks.hasNext() ? new TaskCursor(content.getLast().id()).encode() : null;
+
+        return new TaskSliceResponse(mapToTaskResponses(content), nextCursor, tasks.hasNext());
+    }
+
+    // Списки собираются из проекций: исполнители и комментарии всей страницы читаются двумя запросами,
+    // управляемые сущности при этом не создаются
+    private List<TaskResponse> mapToTaskResponses(List<TaskSummary> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        return PAGE_MAPPING_TIMER.record(() -> assembleTaskResponses(tasks));
+    }
+
+    private List<TaskResponse> assembleTaskResponses(List<TaskSummary> tasks) {
+        List<Long> taskIds = tasks.stream().map(TaskSummary::id).toList();
+
+        Map<Long, Set<UserResponse>> assigneesByTaskId = taskRepository.findAssigneeRowsByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssigneeRow::taskId,
+                        Collectors.mapping(row -> new UserResponse(row.userId(), row.email(), row.role()), Collectors.toSet())));
+
+        Map<Long, List<CommentResponse>> commentsByTaskId = commentRepository.findRowsByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskCommentRow::taskId,
+                        Collectors.mapping(this::mapToCommentResponse, Collectors.toList())));
+
+        return tasks.stream()
+                .map(task -> new TaskResponse(
+                        task.id(),
+                        task.title(),
+                        task.description(),
+                        task.priority(),
+                        task.status(),
+                        commentsByTaskId.getOrDefault(task.id(), List.of()),
+                        assigneesByTaskId.getOrDefault(task.id(), Set.of()),
+                        new UserResponse(task.authorId(), task.authorEmail(), task.authorRole()),
+                        task.version()))
+                .toList();
+    }
+
+    // Задача с автором, исполнители и комментарии читаются теми же проекциями, что и страницы.
+    // Права проверяются запросом задачи, три чтения идут параллельно: три соединения на промах кэша
+    private TaskResponse loadTaskResponse(User user, long taskId) {
+        Long assigneeId = user.getRole().equals(Role.ADMIN) ? null : user.getId();
+
+        try (ConcurrentReads.Scope scope = concurrentReads.open()) {
+            Supplier<TaskSummary> task = scope.fork(() -> taskRepository.findAccessibleSummaryById(taskId, assigneeId)
+                    .orElseThrow(() -> taskViewError(user, taskId)));
+            Supplier<List<TaskAssigneeRow>> assignees = scope.fork(() -> taskRepository.findAssigneeRowsByTaskIdIn(List.of(taskId)));
+            Supplier<List<TaskCommentRow>> comments = scope.fork(() -> commentRepository.findRowsByTaskIdIn(List.of(taskId)));
+            scope.join();
+
+            TaskSummary summary = task.get();
+            return new TaskResponse(
+                    summary.id(),
+                    summary.title(),
+                    summary.description(),
+                    summary.priority(),
+                    summary.status(),
+                    comments.get().stream().map(this::mapToCommentResponse).toList(),
+                    assignees.get().stream().map(row -> new UserResponse(row.userId(), row.email(), row.role())).collect(Collectors.toSet()),
+                    new UserResponse(summary.authorId(), summary.authorEmail(), summary.authorRole()),
+                    summary.version());
+        }
+    }
+
+    // Причина пустого результата выясняется отдельным запросом только при ошибке
+    private RuntimeException taskViewError(User user, long taskId) {
+        return taskAccessService.hasAccess(user, taskId)
+                ? new TaskNotFoundException("Такой задачи не существует")
+                : new UnauthorizedAccessException("У вас не прав на просмотр данной задачи");
+    }
+
+    private CommentResponse mapToCommentResponse(TaskCommentRow row) {
+        CommentResponse commentResponse = new CommentResponse();
+        commentResponse.setId(row.id());
+        commentResponse.setContent(row.content());
+        commentResponse.setAuthorEmail(row.authorEmail());
+        return commentResponse;
     }
 }
@@ -3,9 +3,13 @@ package org.example.taskmanagementsystem.services;
 
 import lombok.AllArgsConstructor;
 import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
+import org.example.taskmanagementsystem.exception.UserNotFoundException;
 import org.example.taskmanagementsystem.models.Role;
 import org.example.taskmanagementsystem.models.User;
 import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,21 +21,39 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final RoleChangeRegistry roleChangeRegistry;
 
     public UserDetails loadUserByEmail(String email) {
         return userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("Такого пользователя не существует"));
     }
 
-    public void upgradeToAdmin() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
+    // Токены с прежней ролью перестают приниматься, вместо них возвращается новый токен
+    public String upgradeToAdmin() {
+        User user = userRepository.findById(getCurrentUser().getId())
+            .orElseThrow(() -> new UserNotFoundException("Такого пользователя не существует"));
         user.setRole(Role.ADMIN);
         userRepository.save(user);
+
+        roleChangeRegistry.roleChanged(user.getId(), user.getRole());
+        return jwtUtil.generateToken(user);
     }
 
+    // Для запросов с JWT пользователь собирается из claims токена без запроса к базе
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            User user = new User();
+            user.setId(principal.id());
+            user.setEmail(principal.email());
+            user.setRole(principal.role());
+            return user;
+        }
+
+        if (authentication == null) {
+            throw new UnauthorizedAccessException("Вы не авторизованы, пожалуйста войдите в аккаунт");
+        }
         return userRepository.findByEmail(authentication.getName())
             .orElseThrow(() -> new UnauthorizedAccessException("Вы не авторизованы, пожалуйста войдите в аккаунт"));
     }
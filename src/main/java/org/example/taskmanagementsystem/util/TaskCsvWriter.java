@@ -0,0 +1,80 @@
+package org.example.taskmanagementsystem.util;
+
+import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.UserResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+// Пишет задачи в CSV по RFC 4180, одна задача на строку. Исполнители перечисляются через ";",
+// комментарии — по одному на строку внутри ячейки в виде "email: текст"
+public class TaskCsvWriter {
+    private static final String HEADER = "id,title,description,priority,status,version,author,assignees,comments";
+
+    private final Writer writer;
+
+    public TaskCsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    public void write(TaskResponse task) throws IOException {
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writeCell(task.getTitle());
+        writer.write(',');
+        writeCell(task.getDescription());
+        writer.write(',');
+        writeCell(task.getPriority() != null ? task.getPriority().name() : null);
+        writer.write(',');
+        writeCell(task.getStatus() != null ? task.getStatus().name() : null);
+        writer.write(',');
+        writeCell(task.getVersion() != null ? task.getVersion().toString() : null);
+        writer.write(',');
+        writeCell(task.getAuthor() != null ? task.getAuthor().getEmail() : null);
+        writer.write(',');
+        writeCell(task.getAssignees().stream()
+                .map(UserResponse::getEmail)
+                .sorted()
+                .collect(Collectors.joining(";")));
+        writer.write(',');
+        writeCell(task.getComments().stream()
+                .map(this::formatComment)
+                .collect(Collectors.joining("\n")));
+        writer.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private String formatComment(CommentResponse comment) {
+        return comment.getAuthorEmail() + ": " + comment.getContent();
+    }
+
+    // Ячейки, которые табличный редактор принял бы за формулу, экранируются апострофом
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.taskmanagementsystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Непрозрачный курсор для постраничной выдачи по ключу: хранит айди последней отданной задачи
+public record TaskCursor(long lastId) {
+    public static final TaskCursor START = new TaskCursor(0);
+
+    public static TaskCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new TaskCursor(Long.parseLong(value));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректный курсор");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.taskmanagementsystem.util;
+
+// ETag задачи: версия в кавычках. Тег строгий, поэтому в If-Match принимается только он или *
+public record TaskVersionTag(long version) {
+
+    // null, если заголовок не передан или равен *: версию проверять не нужно
+    public static TaskVersionTag decode(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+
+        String value = header.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Некорректный заголовок If-Match");
+        }
+
+        try {
+            return new TaskVersionTag(Long.parseLong(value.substring(1, value.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный заголовок If-Match");
+        }
+    }
+
+    public String encode() {
+        return "\"" + version + "\"";
+    }
+}
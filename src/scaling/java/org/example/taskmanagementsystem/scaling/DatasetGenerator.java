@@ -0,0 +1,278 @@
+package org.example.taskmanagementsystem.scaling;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Заполняет users, task, task_assignees и comment через COPY в одной транзакции.
+// Каждая таблица генерируется своим генератором случайных чисел от общего seed, поэтому
+// исполнители и комментарии совпадают между прогонами и не требуют держать задачи в памяти.
+// Схему создаёт приложение (ddl-auto=update), генератор только очищает таблицы и загружает данные.
+// Описание задачи и текст комментария отображены как @Lob: на PostgreSQL Hibernate хранит в колонке
+// oid большого объекта, поэтому тексты сначала копируются во временные таблицы и переносятся через lo_from_bytea.
+// Отдельный запуск описан в README, раздел «Нагрузочные прогоны»
+public class DatasetGenerator {
+    public static final String PASSWORD = "password";
+
+    private static final int FLUSH_SIZE = 1 << 20;
+    private static final int UNLINK_BATCH = 1_000;
+    private static final LocalDateTime CREATED_FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = ScalingSuite.parseOptions(args);
+        DatasetSpec spec = DatasetSpec.forTasks(Long.parseLong(options.getOrDefault("tasks", "100000")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        try (Connection connection = DriverManager.getConnection(
+                options.getOrDefault("url", ScalingSuite.DEFAULT_URL),
+                options.getOrDefault("username", "postgres"),
+                options.getOrDefault("password", "password"))) {
+            long comments = new DatasetGenerator(spec).generate(connection);
+            System.out.printf("Загружено: пользователей %d, задач %d, комментариев %d%n", spec.admins() + spec.users(), spec.tasks(), comments);
+        }
+    }
+
+    // Возвращает число комментариев: оно случайно и известно только после загрузки
+    public long generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        unlinkLargeObjects(connection);
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE comment, task_assignees, task_change, task_outbox_event, task_import_job, task, users " +
+                        "RESTART IDENTITY CASCADE");
+            }
+
+            copyUsers(connection);
+            copyTasks(connection);
+            copyAssignees(connection);
+            long comments = copyComments(connection);
+
+            // Последовательности Hibernate выдают блоки по 50, следующий блок должен начинаться за загруженными id
+            setSequence(connection, "SELECT setval(pg_get_serial_sequence('users', 'id'), ?)", spec.lastUserId());
+            setSequence(connection, "SELECT setval('task_seq', ?)", spec.tasks() + 50);
+            setSequence(connection, "SELECT setval('comment_seq', ?)", comments + 50);
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, task, task_assignees, comment");
+            }
+            return comments;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Большие объекты не удаляются вместе со строками. Удаляются только объекты, на которые ссылаются описания
+    // задач и тексты комментариев прошлого набора: в базе могут быть чужие. Очередь собирается заранее,
+    // а удаляется пачками в отдельных транзакциях: lo_unlink держит блокировку на объект до конца транзакции
+    private static void unlinkLargeObjects(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE lo_unlink_queue AS SELECT DISTINCT refs.lo FROM (" +
+                    "SELECT description::oid AS lo FROM task WHERE description ~ '^[0-9]+$' " +
+                    "UNION SELECT content::oid FROM comment WHERE content ~ '^[0-9]+$') refs " +
+                    "JOIN pg_largeobject_metadata m ON m.oid = refs.lo");
+            try {
+                int unlinked;
+                do {
+                    try (ResultSet resultSet = statement.executeQuery("WITH batch AS (DELETE FROM lo_unlink_queue " +
+                            "WHERE lo IN (SELECT lo FROM lo_unlink_queue LIMIT " + UNLINK_BATCH + ") RETURNING lo) " +
+                            "SELECT count(lo_unlink(lo)) FROM batch")) {
+                        resultSet.next();
+                        unlinked = resultSet.getInt(1);
+                    }
+                } while (unlinked > 0);
+            } finally {
+                statement.execute("DROP TABLE lo_unlink_queue");
+            }
+        }
+    }
+
+    private void copyUsers(Connection connection) throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        try (CopyWriter copy = new CopyWriter(connection, "COPY users (id, email, password, role) FROM STDIN (FORMAT csv)")) {
+            for (long id = 1; id <= spec.lastUserId(); id++) {
+                boolean admin = id < spec.firstHeavyAssigneeId();
+                copy.row(id, email(id), password, admin ? Role.ADMIN : Role.USER);
+            }
+        }
+    }
+
+    private void copyTasks(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        TaskPriority[] priorities = TaskPriority.values();
+        TaskStatus[] statuses = TaskStatus.values();
+
+        execute(connection, "CREATE TEMP TABLE task_load (id bigint, version bigint, title text, description text, " +
+                "priority text, status text, author_id bigint) ON COMMIT DROP");
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY task_load (id, version, title, description, priority, status, author_id) FROM STDIN (FORMAT csv)")) {
+            for (long id = 1; id <= spec.tasks(); id++) {
+                copy.row(id, 0, "Задача " + id, text("Описание задачи " + id + ".", 1 + random.nextInt(20)),
+                        priorities[random.nextInt(priorities.length)], statuses[random.nextInt(statuses.length)],
+                        1 + random.nextInt(spec.admins()));
+            }
+        }
+        execute(connection, "INSERT INTO task (id, version, title, description, priority, status, author_id) " +
+                "SELECT id, version, title, " + largeObject("description") + ", priority, status, author_id FROM task_load");
+    }
+
+    // У задачи от одного до пяти исполнителей, чаще один. Каждый исполнитель с вероятностью heavyShare
+    // выбирается из «тяжёлых», так что у них оказываются десятки тысяч задач
+    private void copyAssignees(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() + 1);
+
+        try (CopyWriter copy = new CopyWriter(connection, "COPY task_assignees (task_id, user_id) FROM STDIN (FORMAT csv)")) {
+            long[] assignees = new long[5];
+            for (long taskId = 1; taskId <= spec.tasks(); taskId++) {
+                int count = 1 + Math.min(4, (int) (-Math.log(1 - random.nextDouble()) * 0.7));
+                int added = 0;
+                while (added < count) {
+                    long userId = pickAssignee(random);
+                    if (!contains(assignees, added, userId)) {
+                        assignees[added++] = userId;
+                        copy.row(taskId, userId);
+                    }
+                }
+            }
+        }
+    }
+
+    // Число комментариев распределено экспоненциально: у большинства задач несколько, у редких — сотни
+    private long copyComments(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() + 2);
+        long id = 0;
+
+        execute(connection, "CREATE TEMP TABLE comment_load (id bigint, task_id bigint, author_id bigint, content text, " +
+                "created_at timestamp) ON COMMIT DROP");
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY comment_load (id, task_id, author_id, content, created_at) FROM STDIN (FORMAT csv)")) {
+            for (long taskId = 1; taskId <= spec.tasks(); taskId++) {
+                int count = (int) (-Math.log(1 - random.nextDouble()) * spec.commentsPerTask());
+                for (int i = 0; i < count; i++) {
+                    id++;
+                    copy.row(id, taskId, pickAssignee(random), text("Комментарий " + i + ".", 1 + random.nextInt(6)),
+                            TIMESTAMP.format(CREATED_FROM.plusMinutes(taskId + i)));
+                }
+            }
+        }
+        execute(connection, "INSERT INTO comment (id, task_id, author_id, content, created_at) " +
+                "SELECT id, task_id, author_id, " + largeObject("content") + ", created_at FROM comment_load");
+        return id;
+    }
+
+    private long pickAssignee(SplittableRandom random) {
+        if (spec.heavyAssignees() > 0 && random.nextDouble() < spec.heavyShare()) {
+            return spec.firstHeavyAssigneeId() + random.nextInt(spec.heavyAssignees());
+        }
+        return random.nextLong(spec.firstRegularUserId(), spec.lastUserId() + 1);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(String prefix, int sentences) {
+        return prefix + " Текст для проверки размера ответа.".repeat(sentences);
+    }
+
+    private static String largeObject(String column) {
+        return "lo_from_bytea(0, convert_to(" + column + ", 'UTF8'))::text";
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void setSequence(Connection connection, String sql, long value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, Math.max(1, value));
+            statement.execute();
+        }
+    }
+
+    public static String email(long userId) {
+        return "user" + userId + "@scaling.local";
+    }
+
+    // Строки CSV копятся в буфере и отправляются серверу кусками по мегабайту
+    private static class CopyWriter implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+
+        CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                if (values[i] instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    buffer.append(values[i]);
+                }
+            }
+            buffer.append('\n');
+
+            if (buffer.length() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.taskmanagementsystem.scaling;
+
+// Параметры синтетического набора данных. Идентификаторы назначаются подряд с 1:
+// сначала администраторы (авторы задач), затем «тяжёлые» исполнители, затем остальные пользователи
+public record DatasetSpec(
+        int admins,
+        int users,
+        int heavyAssignees,
+        double heavyShare,
+        long tasks,
+        double commentsPerTask,
+        long seed
+) {
+
+    // Пропорции по умолчанию: на 1М задач 10М комментариев, 10 тыс. пользователей,
+    // пять исполнителей получают пятую часть всех назначений
+    public static DatasetSpec forTasks(long tasks, long seed) {
+        int users = (int) Math.max(1_000, tasks / 100);
+        return new DatasetSpec(10, users, 5, 0.2, tasks, 10, seed);
+    }
+
+    public long firstHeavyAssigneeId() {
+        return admins + 1;
+    }
+
+    public long firstRegularUserId() {
+        return admins + heavyAssignees + 1;
+    }
+
+    public long lastUserId() {
+        return admins + users;
+    }
+}
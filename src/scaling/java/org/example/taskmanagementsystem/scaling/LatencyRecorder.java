@@ -0,0 +1,50 @@
+package org.example.taskmanagementsystem.scaling;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Задержки одного потока нагрузки в наносекундах. Потоки пишут каждый в свой экземпляр,
+// перцентили считаются по объединённому отсортированному массиву после прогона
+public class LatencyRecorder {
+    private long[] latencies = new long[1 << 14];
+    private int count;
+    private int errors;
+
+    public void record(long nanos, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    public static Summary summarize(List<LatencyRecorder> recorders, long durationNanos) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        int errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+            errors += recorder.errors;
+        }
+        Arrays.sort(merged);
+
+        double throughput = total * 1_000_000_000.0 / durationNanos;
+        return new Summary(total, errors, throughput, percentile(merged, 0.5), percentile(merged, 0.99), percentile(merged, 0.999));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // Задержки в миллисекундах, пропускная способность в запросах в секунду
+    public record Summary(int requests, int errors, double throughput, double p50, double p99, double p999) {
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.taskmanagementsystem.scaling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.TaskManagementSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Прогон чтения на нескольких размерах набора данных против локального PostgreSQL.
+// Для каждого размера: приложение поднимается на случайном порту (создаёт или обновляет схему),
+// генератор перезаливает данные, затем каждый сценарий прогревается и замеряется замкнутым циклом
+// из concurrency виртуальных потоков на каждом уровне нагрузки. Приложение перезапускается между размерами
+// и режимами потоков запросов (platform, virtual), чтобы кэши не держали данные прошлого прогона.
+// Результаты дописываются в CSV, по строке на размер, режим, сценарий и уровень нагрузки
+public class ScalingSuite {
+    static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/taskManagement";
+
+    private static final int SAMPLED_USERS = 40;
+    private static final int TASKS_PER_USER = 200;
+    private static final int PAGE_SIZE = 20;
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ScalingSuite(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools перезапускает приложение, поднятое из потока main, и теряет переданные аргументы
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        new ScalingSuite(parseOptions(args)).run();
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private void run() throws Exception {
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        List<Integer> concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "32").split(","))
+                .map(level -> Integer.parseInt(level.trim()))
+                .toList();
+        List<String> threadModes = List.of(options.getOrDefault("threads", "platform").split(","));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "30s"));
+        Path output = Path.of(options.getOrDefault("output", "target/scaling-result.csv"));
+        Set<String> selected = options.containsKey("scenarios")
+                ? Set.of(options.get("scenarios").split(","))
+                : null;
+
+        for (String size : options.getOrDefault("sizes", "10000,100000,1000000").split(",")) {
+            DatasetSpec spec = DatasetSpec.forTasks(Long.parseLong(size.trim()), seed);
+            boolean generated = false;
+
+            for (String threads : threadModes) {
+                try (ConfigurableApplicationContext context = startApplication(threads.trim());
+                     Connection connection = connect()) {
+                    // Схему создаёт первое приложение, последующие режимы читают тот же набор
+                    if (!generated) {
+                        long started = System.nanoTime();
+                        long comments = new DatasetGenerator(spec).generate(connection);
+                        System.out.printf("%nНабор: задач %d, комментариев %d, пользователей %d, загружен за %d с%n",
+                                spec.tasks(), comments, spec.admins() + spec.users(), Duration.ofNanos(System.nanoTime() - started).toSeconds());
+                        generated = true;
+                    }
+                    System.out.printf("Потоки запросов: %s%n", threads.trim());
+
+                    String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+                    List<Sample> samples = sampleUsers(connection, spec, baseUrl);
+                    String adminToken = login(baseUrl, DatasetGenerator.email(1));
+
+                    for (Scenario scenario : scenarios(spec, samples, adminToken, baseUrl)) {
+                        if (selected != null && !selected.contains(scenario.name())) {
+                            continue;
+                        }
+                        drive(scenario, concurrencyLevels.getFirst(), warmup);
+                        for (int concurrency : concurrencyLevels) {
+                            LatencyRecorder.Summary summary = drive(scenario, concurrency, duration);
+                            report(output, spec, threads.trim(), scenario, concurrency, summary);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Исполнители берутся вперемешку: все «тяжёлые» и случайные обычные, у каждого свои задачи
+    private List<Scenario> scenarios(DatasetSpec spec, List<Sample> samples, String adminToken, String baseUrl) {
+        return List.of(
+                new Scenario("task-by-id", random -> {
+                    Sample sample = samples.get(random.nextInt(samples.size()));
+                    return get(baseUrl + "/task/" + sample.randomTask(random), sample.token());
+                }),
+                new Scenario("comments-by-task", random -> {
+                    Sample sample = samples.get(random.nextInt(samples.size()));
+                    return get(baseUrl + "/comment/" + sample.randomTask(random), sample.token());
+                }),
+                new Scenario("tasks-by-assignee", random -> {
+                    Sample sample = samples.get(random.nextInt(samples.size()));
+                    return get(baseUrl + "/task/assignee?assigneeId=" + sample.userId() + "&page=0&size=" + PAGE_SIZE, sample.token());
+                }),
+                new Scenario("tasks-by-author", random ->
+                        get(baseUrl + "/task/author?authorId=" + (1 + random.nextInt(spec.admins())) + "&page=0&size=" + PAGE_SIZE, adminToken))
+        );
+    }
+
+    private LatencyRecorder.Summary drive(Scenario scenario, int concurrency, Duration duration) throws Exception {
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Future<?>> workers = new ArrayList<>();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = scenario.requests().apply(random);
+                        long start = System.nanoTime();
+                        // Отказ в соединении при переполненной очереди Tomcat тоже ошибка, а не конец прогона
+                        boolean error;
+                        try {
+                            error = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                        } catch (IOException e) {
+                            error = true;
+                        }
+                        recorder.record(System.nanoTime() - start, error);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return LatencyRecorder.summarize(recorders, System.nanoTime() - started);
+    }
+
+    private void report(Path output, DatasetSpec spec, String threads, Scenario scenario, int concurrency,
+                        LatencyRecorder.Summary summary) throws IOException {
+        System.out.printf("%-18s x%-5d %8d запросов, ошибок %d, %8.1f rps, p50 %.2f мс, p99 %.2f мс, p99.9 %.2f мс%n",
+                scenario.name(), concurrency, summary.requests(), summary.errors(), summary.throughput(),
+                summary.p50(), summary.p99(), summary.p999());
+
+        boolean header = !Files.exists(output);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                writer.println("tasks,threads,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,p999_ms");
+            }
+            writer.printf(Locale.ROOT, "%d,%s,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f%n", spec.tasks(), threads, scenario.name(), concurrency,
+                    summary.requests(), summary.errors(), summary.throughput(), summary.p50(), summary.p99(), summary.p999());
+        }
+    }
+
+    private List<Sample> sampleUsers(Connection connection, DatasetSpec spec, String baseUrl) throws Exception {
+        Random random = new Random(spec.seed());
+        List<Long> userIds = new ArrayList<>();
+        for (long id = spec.firstHeavyAssigneeId(); id < spec.firstRegularUserId(); id++) {
+            userIds.add(id);
+        }
+        while (userIds.size() < SAMPLED_USERS + spec.heavyAssignees()) {
+            userIds.add(spec.firstRegularUserId() + random.nextLong(spec.lastUserId() - spec.firstRegularUserId() + 1));
+        }
+
+        List<Sample> samples = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT task_id FROM task_assignees WHERE user_id = ? LIMIT " + TASKS_PER_USER)) {
+            for (Long userId : userIds) {
+                statement.setLong(1, userId);
+                List<Long> taskIds = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        taskIds.add(resultSet.getLong(1));
+                    }
+                }
+                if (!taskIds.isEmpty()) {
+                    samples.add(new Sample(userId, login(baseUrl, DatasetGenerator.email(userId)), taskIds));
+                }
+            }
+        }
+        return samples;
+    }
+
+    private String login(String baseUrl, String email) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", DatasetGenerator.PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Не удалось войти как " + email + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("message").asText();
+    }
+
+    // Параметры с точкой в имени (server.tomcat.threads.max, spring.datasource.hikari.maximum-pool-size)
+    // передаются приложению как есть
+    private ConfigurableApplicationContext startApplication(String threads) {
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("Режим потоков должен быть platform или virtual: " + threads);
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + options.getOrDefault("url", DEFAULT_URL),
+                "--spring.datasource.username=" + options.getOrDefault("username", "postgres"),
+                "--spring.datasource.password=" + options.getOrDefault("password", "password"),
+                "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--task.event-log.directory=target/scaling-events"));
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(TaskManagementSystemApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                options.getOrDefault("url", DEFAULT_URL),
+                options.getOrDefault("username", "postgres"),
+                options.getOrDefault("password", "password"));
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private record Scenario(String name, Function<Random, HttpRequest> requests) {
+    }
+
+    private record Sample(long userId, String token, List<Long> taskIds) {
+        long randomTask(Random random) {
+            return taskIds.get(random.nextInt(taskIds.size()));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.taskmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.taskmanagementsystem.datasource.BulkheadDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:virtual-threads",
+                    "spring.datasource.driver-class-name=org.h2.Driver");
+
+    @Test
+    void dataSource_shouldBeGuardedByBulkheadWithVirtualThreads() {
+        contextRunner.withPropertyValues(
+                "spring.threads.virtual.enabled=true",
+                "spring.datasource.hikari.maximum-pool-size=3"
+        ).run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+
+            assertThat(dataSource).isInstanceOf(BulkheadDataSource.class);
+            assertThat(((BulkheadDataSource) dataSource).getAvailablePermits()).isEqualTo(3);
+            assertThat(DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class)).isNotNull();
+        });
+    }
+
+    @Test
+    void dataSource_shouldSizeBulkheadToDefaultPoolSize() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            BulkheadDataSource dataSource = (BulkheadDataSource) context.getBean(DataSource.class);
+
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(10);
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat(connection.isValid(1)).isTrue();
+            }
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void dataSource_shouldStayPlainWithPlatformThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false").run(context ->
+                assertThat(context.getBean(DataSource.class)).isInstanceOf(HikariDataSource.class));
+    }
+}
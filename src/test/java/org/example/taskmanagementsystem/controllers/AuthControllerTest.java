@@ -5,7 +5,9 @@ import org.example.taskmanagementsystem.dto.AuthRequest;
 import org.example.taskmanagementsystem.exception.InvalidCredentialsException;
 import org.example.taskmanagementsystem.security.JwtAuthenticationEntryPoint;
 import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
+import org.example.taskmanagementsystem.security.JwtTokenCache;
 import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
 import org.example.taskmanagementsystem.services.AuthService;
 import org.example.taskmanagementsystem.services.UserService;
 import org.example.taskmanagementsystem.util.ApiMessageResponse;
@@ -23,11 +25,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith({SpringExtension.class, MockitoExtension.class})
-@Import({SecurityConfig.class, JwtUtil.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
+@Import({SecurityConfig.class, JwtUtil.class, JwtTokenCache.class, RoleChangeRegistry.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
 @WebMvcTest(AuthController.class)
 @AutoConfigureMockMvc
 public class AuthControllerTest {
@@ -124,4 +127,16 @@ public class AuthControllerTest {
 
         verify(authService, times(1)).login(any(AuthRequest.class));
     }
+
+    @Test
+    void upgradeToAdmin_shouldReturnNewToken() throws Exception {
+        when(userService.upgradeToAdmin()).thenReturn("new-token");
+
+        mockMvc.perform(patch("/auth/upgrade-to-admin"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("new-token"));
+
+        verify(userService, times(1)).upgradeToAdmin();
+    }
 }
@@ -1,6 +1,8 @@
 package org.example.taskmanagementsystem.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.example.taskmanagementsystem.config.MessageConverterConfig;
 import org.example.taskmanagementsystem.config.SecurityConfig;
 import org.example.taskmanagementsystem.dto.CommentCreateRequest;
 import org.example.taskmanagementsystem.dto.CommentEditRequest;
@@ -10,7 +12,9 @@ import org.example.taskmanagementsystem.exception.TaskNotFoundException;
 import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
 import org.example.taskmanagementsystem.security.JwtAuthenticationEntryPoint;
 import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
+import org.example.taskmanagementsystem.security.JwtTokenCache;
 import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
 import org.example.taskmanagementsystem.services.CommentService;
 import org.example.taskmanagementsystem.services.TaskService;
 import org.example.taskmanagementsystem.services.UserService;
@@ -28,17 +32,21 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
 @ExtendWith({SpringExtension.class, MockitoExtension.class})
-@Import({SecurityConfig.class, JwtUtil.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
+@Import({SecurityConfig.class, MessageConverterConfig.class, JwtUtil.class, JwtTokenCache.class, RoleChangeRegistry.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
 @WebMvcTest(CommentController.class)
 @AutoConfigureMockMvc
 @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
@@ -69,15 +77,47 @@ public class CommentControllerTest {
         CommentResponse comment2 = createCommentResponse(2L, "Second comment",
                 "author@mail.com");
 
+        when(commentService.getCommentsVersion(taskId)).thenReturn(3L);
         when(commentService.getCommentsForTask(taskId)).thenReturn(List.of(comment1, comment2));
 
         mockMvc.perform(get("/comment/{taskId}", taskId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$", hasSize(2)));
 
         verify(commentService, times(1)).getCommentsForTask(taskId);
     }
 
+    @Test
+    void getCommentsForTask_shouldReturnCborWhenRequested() throws Exception {
+        long taskId = 1L;
+        CommentResponse comment = createCommentResponse(1L, "First comment", "author@mail.com");
+
+        when(commentService.getCommentsVersion(taskId)).thenReturn(3L);
+        when(commentService.getCommentsForTask(taskId)).thenReturn(List.of(comment));
+
+        MvcResult result = mockMvc.perform(get("/comment/{taskId}", taskId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn();
+
+        CommentResponse[] comments = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), CommentResponse[].class);
+        assertArrayEquals(new CommentResponse[]{comment}, comments);
+    }
+
+    @Test
+    void getCommentsForTask_shouldReturnNotModifiedWithoutLoadingComments() throws Exception {
+        long taskId = 1L;
+
+        when(commentService.getCommentsVersion(taskId)).thenReturn(3L);
+
+        mockMvc.perform(get("/comment/{taskId}", taskId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(commentService, never()).getCommentsForTask(taskId);
+    }
+
     @Test
     void getCommentsForTask_shouldReturnTaskNotFoundException() throws Exception {
         long taskId = 1L;
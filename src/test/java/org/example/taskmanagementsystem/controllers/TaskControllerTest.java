@@ -1,21 +1,37 @@
 package org.example.taskmanagementsystem.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.taskmanagementsystem.config.MessageConverterConfig;
 import org.example.taskmanagementsystem.config.SecurityConfig;
+import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskBatchItemResult;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateRequest;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateResponse;
+import org.example.taskmanagementsystem.dto.TaskChangesResponse;
 import org.example.taskmanagementsystem.dto.TaskCreateRequest;
 import org.example.taskmanagementsystem.dto.TaskEditRequest;
 import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSliceResponse;
+import org.example.taskmanagementsystem.dto.TaskSortField;
+import org.example.taskmanagementsystem.dto.TaskStatusUpdateRequest;
 import org.example.taskmanagementsystem.dto.UserResponse;
 import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.example.taskmanagementsystem.exception.TaskVersionMismatchException;
 import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
 import org.example.taskmanagementsystem.exception.UserIsNotAdminException;
 import org.example.taskmanagementsystem.exception.UserNotFoundException;
 import org.example.taskmanagementsystem.models.*;
 import org.example.taskmanagementsystem.security.JwtAuthenticationEntryPoint;
 import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
+import org.example.taskmanagementsystem.security.JwtTokenCache;
 import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
 import org.example.taskmanagementsystem.services.TaskService;
 import org.example.taskmanagementsystem.services.UserService;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,25 +42,33 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith({SpringExtension.class, MockitoExtension.class})
-@Import({SecurityConfig.class, JwtUtil.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
+@Import({SecurityConfig.class, MessageConverterConfig.class, JwtUtil.class, JwtTokenCache.class, RoleChangeRegistry.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
 @WebMvcTest(TaskController.class)
 @AutoConfigureMockMvc
 public class TaskControllerTest {
@@ -72,7 +96,7 @@ public class TaskControllerTest {
         UserResponse assignee2 = createUser(3L, "assignee2@example.com", Role.USER);
 
         TaskResponse taskResponse = new TaskResponse(1L, "Task 1", "Description 1",
-                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(assignee1, assignee2), author);
+                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(assignee1, assignee2), author, 0L);
         List<TaskResponse> tasks = List.of(taskResponse);
 
         when(taskService.getAllTasks()).thenReturn(tasks);
@@ -100,6 +124,177 @@ public class TaskControllerTest {
         verify(taskService, times(0)).getAllTasks();
     }
 
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void streamTaskChanges_shouldOpenEventStream() throws Exception {
+        when(taskService.subscribeToChanges()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/task/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taskService, times(1)).subscribeToChanges();
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void getTaskChanges_shouldReturnChangesSinceRevision() throws Exception {
+        TaskChangesResponse changes = new TaskChangesResponse(List.of(), List.of(7L), 42L, false);
+
+        when(taskService.getTaskChanges(40L, 100)).thenReturn(changes);
+
+        mockMvc.perform(get("/task/changes").param("since", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removedTaskIds[0]").value(7))
+                .andExpect(jsonPath("$.revision").value(42))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        verify(taskService, times(1)).getTaskChanges(40L, 100);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void getTaskChanges_shouldRejectInvalidPageSize() throws Exception {
+        when(taskService.getTaskChanges(null, 0)).thenThrow(new IllegalArgumentException("Размер страницы должен быть от 1 до 500"));
+
+        mockMvc.perform(get("/task/changes").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamTaskChanges_shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/task/stream"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void streamAllTasks_shouldWriteOneTaskPerLine() throws Exception {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+
+        TaskResponse task1 = new TaskResponse(1L, "Task 1", "Description 1",
+                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(), author, 0L);
+        TaskResponse task2 = new TaskResponse(2L, "Task 2", "Description 2",
+                TaskPriority.LOW, TaskStatus.COMPLETED, Collections.emptyList(), Set.of(), author, 0L);
+
+        doAnswer(invocation -> {
+            Consumer<TaskResponse> consumer = invocation.getArgument(0);
+            consumer.accept(task1);
+            consumer.accept(task2);
+            return null;
+        }).when(taskService).streamAllTasks(any());
+
+        MvcResult result = mockMvc.perform(get("/task").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Task 1", mapper.readValue(lines.get(0), TaskResponse.class).getTitle());
+        assertEquals("Task 2", mapper.readValue(lines.get(1), TaskResponse.class).getTitle());
+        verify(taskService, times(0)).getAllTasks();
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void streamAllTasks_shouldReturnAccessDeniedException() throws Exception {
+        mockMvc.perform(get("/task").param("stream", "true"))
+                .andExpect(status().isUnauthorized());
+
+        verify(taskService, times(0)).streamAllTasks(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void exportTasks_shouldWriteFilteredTasksAsNdjson() throws Exception {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+        TaskResponse task = new TaskResponse(1L, "Task 1", "Description 1",
+                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(), author, 0L);
+        TaskSearchRequest expected = new TaskSearchRequest(null, 2L, Set.of(TaskStatus.TODO), null,
+                TaskSortField.ID, Sort.Direction.ASC);
+
+        doAnswer(invocation -> {
+            Consumer<TaskResponse> consumer = invocation.getArgument(1);
+            consumer.accept(task);
+            return null;
+        }).when(taskService).exportTasks(eq(expected), any());
+
+        MvcResult result = mockMvc.perform(get("/task/export")
+                        .param("assigneeId", "2")
+                        .param("status", "TODO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("Task 1", mapper.readValue(body.lines().findFirst().orElseThrow(), TaskResponse.class).getTitle());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void exportTasks_shouldWriteGzippedCsv() throws Exception {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+        CommentResponse comment = new CommentResponse();
+        comment.setAuthorEmail("assignee@example.com");
+        comment.setContent("Готово, \"проверьте\"");
+        TaskResponse task = new TaskResponse(1L, "=Task, 1", "Description 1", TaskPriority.HIGH, TaskStatus.TODO,
+                List.of(comment), Set.of(createUser(2L, "assignee@example.com", Role.USER)), author, 3L);
+
+        doAnswer(invocation -> {
+            Consumer<TaskResponse> consumer = invocation.getArgument(1);
+            consumer.accept(task);
+            return null;
+        }).when(taskService).exportTasks(any(), any());
+
+        MvcResult result = mockMvc.perform(get("/task/export").param("format", "csv").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String body;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertEquals("id,title,description,priority,status,version,author,assignees,comments\r\n" +
+                "1,\"'=Task, 1\",Description 1,HIGH,TODO,3,author@example.com,assignee@example.com," +
+                "\"assignee@example.com: Готово, \"\"проверьте\"\"\"\r\n", body);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void exportTasks_shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/task/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void exportTasks_shouldReturnAccessDeniedException() throws Exception {
+        mockMvc.perform(get("/task/export"))
+                .andExpect(status().isUnauthorized());
+
+        verify(taskService, times(0)).exportTasks(any(), any());
+    }
+
     @Test
     @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
     void getTaskById_shouldReturnTask() throws Exception {
@@ -107,7 +302,7 @@ public class TaskControllerTest {
         UserResponse assignee = createUser(2L, "assignee@example.com", Role.USER);
 
         TaskResponse taskResponse = new TaskResponse(1L, "Task 1", "Description 1",
-                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(assignee), author);
+                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(assignee), author, 0L);
 
         when(taskService.getTaskById(1L)).thenReturn(taskResponse);
 
@@ -119,9 +314,70 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.assignees", hasSize(1)))
                 .andExpect(jsonPath("$.assignees[0].email").value("assignee@example.com"))
                 .andExpect(jsonPath("$.author.email").value("author@example.com"))
-                .andExpect(jsonPath("$.author.role").value("ADMIN"));
+                .andExpect(jsonPath("$.author.role").value("ADMIN"))
+                .andExpect(header().string("ETag", "\"0\""));
 
         verify(taskService, times(1)).getTaskById(1L);
+        verify(taskService, never()).getTaskVersion(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getTaskById_shouldReturnCborWhenRequested() throws Exception {
+        TaskResponse taskResponse = createTaskWithComments();
+        when(taskService.getTaskById(1L)).thenReturn(taskResponse);
+
+        MvcResult result = mockMvc.perform(get("/task/{id}", 1L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("ETag", "\"2\""))
+                .andReturn();
+
+        assertEquals(taskResponse, new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), TaskResponse.class));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getTaskById_shouldReturnSmileWhenRequested() throws Exception {
+        TaskResponse taskResponse = createTaskWithComments();
+        when(taskService.getTaskById(1L)).thenReturn(taskResponse);
+
+        MvcResult result = mockMvc.perform(get("/task/{id}", 1L).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        assertEquals(taskResponse, new SmileMapper().readValue(result.getResponse().getContentAsByteArray(), TaskResponse.class));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getTaskById_shouldReturnNotModifiedWithoutAssemblingTask() throws Exception {
+        when(taskService.getTaskVersion(1L)).thenReturn(4L);
+
+        mockMvc.perform(get("/task/{id}", 1L).header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getTaskById_shouldReturnTaskWhenVersionChanged() throws Exception {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+        TaskResponse taskResponse = new TaskResponse(1L, "Task 1", "Description 1",
+                TaskPriority.HIGH, TaskStatus.TODO, Collections.emptyList(), Set.of(), author, 5L);
+
+        when(taskService.getTaskVersion(1L)).thenReturn(5L);
+        when(taskService.getTaskById(1L)).thenReturn(taskResponse);
+
+        mockMvc.perform(get("/task/{id}", 1L).header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.version").value(5));
     }
 
     @Test
@@ -206,6 +462,49 @@ public class TaskControllerTest {
         verify(taskService, times(0)).createTask(taskCreateRequest, author);
     }
 
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void createTasks_shouldReturnResultPerItem() throws Exception {
+        List<TaskCreateRequest> requests = List.of(
+                new TaskCreateRequest("Title 1", "Description", TaskPriority.MEDIUM, Set.of(1L)),
+                new TaskCreateRequest("Title 2", "Description", TaskPriority.LOW, Set.of(5L)));
+
+        User author = new User();
+        author.setId(1L);
+        author.setEmail("author@example.com");
+        author.setRole(Role.ADMIN);
+
+        when(userService.getCurrentUser()).thenReturn(author);
+        when(taskService.createTasks(requests, author)).thenReturn(List.of(
+                new TaskBatchItemResult(0, true, 10L, "Задача успешно создана"),
+                new TaskBatchItemResult(1, false, null, "Не найдено ни одного пользователя для назначения задачи")));
+
+        mockMvc.perform(post("/task/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].taskId").value(10))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("Не найдено ни одного пользователя для назначения задачи"));
+
+        verify(taskService, times(1)).createTasks(requests, author);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void createTasks_shouldReturnAccessDeniedException() throws Exception {
+        List<TaskCreateRequest> requests = List.of(
+                new TaskCreateRequest("Title", "Description", TaskPriority.MEDIUM, Set.of(1L)));
+
+        mockMvc.perform(post("/task/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(requests)))
+                .andExpect(status().isUnauthorized());
+
+        verify(taskService, never()).createTasks(any(), any());
+    }
+
     @Test
     @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
     void editTask_shouldEditTask() throws Exception {
@@ -225,7 +524,7 @@ public class TaskControllerTest {
         TaskEditRequest taskEditRequest = new TaskEditRequest();
         taskEditRequest.setStatus(TaskStatus.COMPLETED);
 
-        doNothing().when(taskService).editTask(task.getId(), taskEditRequest);
+        doNothing().when(taskService).editTask(task.getId(), taskEditRequest, null);
 
         mockMvc.perform(patch("/task/edit/{id}", task.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -233,7 +532,7 @@ public class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Задача успешно изменена"));
 
-        verify(taskService, times(1)).editTask(task.getId(), taskEditRequest);
+        verify(taskService, times(1)).editTask(task.getId(), taskEditRequest, null);
     }
 
     @Test
@@ -244,7 +543,7 @@ public class TaskControllerTest {
         taskEditRequest.setStatus(TaskStatus.COMPLETED);
 
         doThrow(new TaskNotFoundException("Такой задачи не существует"))
-                .when(taskService).editTask(taskId, taskEditRequest);
+                .when(taskService).editTask(taskId, taskEditRequest, null);
 
         mockMvc.perform(patch("/task/edit/{id}", 1L)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -252,7 +551,7 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Такой задачи не существует"));
 
-        verify(taskService, times(1)).editTask(taskId, taskEditRequest);
+        verify(taskService, times(1)).editTask(taskId, taskEditRequest, null);
     }
 
     @Test
@@ -267,7 +566,54 @@ public class TaskControllerTest {
                 .content(mapper.writeValueAsString(taskEditRequest)))
                 .andExpect(status().isUnauthorized());
 
-        verify(taskService, times(0)).editTask(taskId, taskEditRequest);
+        verify(taskService, times(0)).editTask(taskId, taskEditRequest, null);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void editTask_shouldPassIfMatchVersionToService() throws Exception {
+        TaskEditRequest taskEditRequest = new TaskEditRequest();
+        taskEditRequest.setStatus(TaskStatus.COMPLETED);
+
+        mockMvc.perform(patch("/task/edit/{id}", 1L)
+                .header("If-Match", "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(taskEditRequest)))
+                .andExpect(status().isOk());
+
+        verify(taskService, times(1)).editTask(1L, taskEditRequest, new TaskVersionTag(7));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void editTask_shouldReturnPreconditionFailedForStaleVersion() throws Exception {
+        TaskEditRequest taskEditRequest = new TaskEditRequest();
+        taskEditRequest.setStatus(TaskStatus.COMPLETED);
+
+        doThrow(new TaskVersionMismatchException("Задача была изменена другим пользователем, обновите данные и повторите запрос"))
+                .when(taskService).editTask(1L, taskEditRequest, new TaskVersionTag(6));
+
+        mockMvc.perform(patch("/task/edit/{id}", 1L)
+                .header("If-Match", "\"6\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(taskEditRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Задача была изменена другим пользователем, обновите данные и повторите запрос"));
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void updateTaskStatus_shouldReturnConflictWhenTaskChangedConcurrently() throws Exception {
+        TaskStatusUpdateRequest request = new TaskStatusUpdateRequest();
+        request.setStatus(TaskStatus.COMPLETED);
+
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .when(taskService).updateTaskStatus(1L, TaskStatus.COMPLETED, null);
+
+        mockMvc.perform(patch("/task/status/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
     }
 
     @Test
@@ -322,9 +668,9 @@ public class TaskControllerTest {
 
         List<TaskResponse> tasks = List.of(
                 new TaskResponse(1L, "Task 1", "Description 1", TaskPriority.MEDIUM,
-                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1, assignee2), author),
+                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1, assignee2), author, 0L),
                 new TaskResponse(2L, "Task 2", "Description 2", TaskPriority.MEDIUM,
-                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1), author)
+                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1), author, 0L)
         );
 
         Page<TaskResponse> taskPage = new PageImpl<>(tasks);
@@ -435,9 +781,9 @@ public class TaskControllerTest {
 
         List<TaskResponse> tasks = List.of(
                 new TaskResponse(1L, "Task 1", "Description 1", TaskPriority.MEDIUM,
-                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1, assignee2), author),
+                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1, assignee2), author, 0L),
                 new TaskResponse(2L, "Task 2", "Description 2", TaskPriority.MEDIUM,
-                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1), author)
+                        TaskStatus.IN_PROGRESS, Collections.emptyList(), Set.of(assignee1), author, 0L)
         );
 
         Page<TaskResponse> taskPage = new PageImpl<>(tasks);
@@ -518,6 +864,148 @@ public class TaskControllerTest {
                 .getTasksByAssignee(assigneeId, priority, status, page, size);
     }
 
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getTasksByAuthorAfter_shouldReturnSliceWithNextCursor() throws Exception {
+        long authorId = 1L;
+        int size = 1;
+        UserResponse author = createUser(authorId, "author@example.com", Role.ADMIN);
+
+        TaskResponse task = new TaskResponse(5L, "Task 5", "Description 5", TaskPriority.HIGH,
+                TaskStatus.TODO, Collections.emptyList(), Set.of(), author, 0L);
+
+        when(taskService.getTasksByAuthorAfter(authorId, TaskPriority.HIGH, null, "NA", size))
+                .thenReturn(new TaskSliceResponse(List.of(task), "NQ", true));
+
+        mockMvc.perform(get("/task/author/cursor")
+                .param("authorId", String.valueOf(authorId))
+                .param("after", "NA")
+                .param("size", String.valueOf(size))
+                .param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(5))
+                .andExpect(jsonPath("$.nextCursor").value("NQ"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void getTasksByAuthorAfter_shouldReturnAccessDeniedException() throws Exception {
+        mockMvc.perform(get("/task/author/cursor")
+                .param("authorId", "1")
+                .param("size", "10"))
+                .andExpect(status().isUnauthorized());
+
+        verify(taskService, times(0)).getTasksByAuthorAfter(anyLong(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void getTasksByAssigneeAfter_shouldReturnLastSlice() throws Exception {
+        long assigneeId = 2L;
+
+        when(taskService.getTasksByAssigneeAfter(assigneeId, null, TaskStatus.TODO, null, 10))
+                .thenReturn(new TaskSliceResponse(List.of(), null, false));
+
+        mockMvc.perform(get("/task/assignee/cursor")
+                .param("assigneeId", String.valueOf(assigneeId))
+                .param("size", "10")
+                .param("status", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void getTasksByAssigneeAfter_shouldReturnBadRequestForInvalidCursor() throws Exception {
+        when(taskService.getTasksByAssigneeAfter(2L, null, null, "broken", 10))
+                .thenThrow(new IllegalArgumentException("Некорректный курсор"));
+
+        mockMvc.perform(get("/task/assignee/cursor")
+                .param("assigneeId", "2")
+                .param("after", "broken")
+                .param("size", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void searchTasks_shouldBindMultiValueFilters() throws Exception {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+        TaskResponse task = new TaskResponse(1L, "Task 1", "Description 1", TaskPriority.HIGH,
+                TaskStatus.TODO, Collections.emptyList(), Set.of(), author, 0L);
+
+        TaskSearchRequest expected = new TaskSearchRequest(1L, 2L,
+                Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS), Set.of(TaskPriority.HIGH),
+                TaskSortField.PRIORITY, Sort.Direction.DESC);
+
+        when(taskService.searchTasks(expected, 0, 10)).thenReturn(new PageImpl<>(List.of(task)));
+
+        mockMvc.perform(get("/task/search")
+                .param("authorId", "1")
+                .param("assigneeId", "2")
+                .param("status", "TODO", "IN_PROGRESS")
+                .param("priority", "HIGH")
+                .param("sort", "PRIORITY")
+                .param("direction", "DESC")
+                .param("page", "0")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"));
+
+        verify(taskService, times(1)).searchTasks(expected, 0, 10);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void updateTaskStatuses_shouldReturnUpdatedAndDeniedIds() throws Exception {
+        TaskBulkStatusUpdateRequest request = new TaskBulkStatusUpdateRequest(Set.of(1L, 2L), TaskStatus.COMPLETED);
+
+        when(taskService.updateTaskStatuses(Set.of(1L, 2L), TaskStatus.COMPLETED))
+                .thenReturn(new TaskBulkStatusUpdateResponse(List.of(1L), List.of(2L), List.of()));
+
+        mockMvc.perform(patch("/task/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedIds[0]").value(1))
+                .andExpect(jsonPath("$.deniedIds[0]").value(2))
+                .andExpect(jsonPath("$.notFoundIds", hasSize(0)));
+
+        verify(taskService, times(1)).updateTaskStatuses(Set.of(1L, 2L), TaskStatus.COMPLETED);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void updateTaskStatuses_shouldReturnBadRequestForEmptyIds() throws Exception {
+        TaskBulkStatusUpdateRequest request = new TaskBulkStatusUpdateRequest(Set.of(), TaskStatus.COMPLETED);
+
+        mockMvc.perform(patch("/task/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ids").value("Необходимо указать как минимум одну задачу"));
+
+        verify(taskService, never()).updateTaskStatuses(any(), any());
+    }
+
+    private TaskResponse createTaskWithComments() {
+        UserResponse author = createUser(1L, "author@example.com", Role.ADMIN);
+        UserResponse assignee = createUser(2L, "assignee@example.com", Role.USER);
+
+        CommentResponse comment = new CommentResponse();
+        comment.setId(3L);
+        comment.setContent("Комментарий");
+        comment.setAuthorEmail("assignee@example.com");
+
+        return new TaskResponse(1L, "Task 1", "Description 1", TaskPriority.HIGH, TaskStatus.IN_PROGRESS,
+                List.of(comment), Set.of(assignee), author, 2L);
+    }
+
     private UserResponse createUser(Long id, String email, Role role) {
         UserResponse user = new UserResponse();
         user.setId(id);
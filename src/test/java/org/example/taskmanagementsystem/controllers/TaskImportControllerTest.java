@@ -0,0 +1,120 @@
+package org.example.taskmanagementsystem.controllers;
+
+import org.example.taskmanagementsystem.config.SecurityConfig;
+import org.example.taskmanagementsystem.dto.TaskImportLineError;
+import org.example.taskmanagementsystem.dto.TaskImportResponse;
+import org.example.taskmanagementsystem.exception.TaskImportJobNotFoundException;
+import org.example.taskmanagementsystem.models.TaskImportStatus;
+import org.example.taskmanagementsystem.security.JwtAuthenticationEntryPoint;
+import org.example.taskmanagementsystem.security.JwtAuthenticationFilter;
+import org.example.taskmanagementsystem.security.JwtTokenCache;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.example.taskmanagementsystem.services.TaskImportService;
+import org.example.taskmanagementsystem.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith({SpringExtension.class, MockitoExtension.class})
+@Import({SecurityConfig.class, JwtUtil.class, JwtTokenCache.class, RoleChangeRegistry.class, JwtAuthenticationEntryPoint.class, JwtAuthenticationFilter.class})
+@WebMvcTest(TaskImportController.class)
+@AutoConfigureMockMvc
+public class TaskImportControllerTest {
+    private static final String LINE = "{\"title\": \"Task\", \"description\": \"Description\", \"priority\": \"HIGH\", " +
+            "\"assigneeEmails\": [\"user@example.com\"]}";
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void importTasks_shouldPassBodyAndJobIdToService() throws Exception {
+        when(taskImportService.importTasks(any(), eq(7L))).thenAnswer(invocation -> {
+            InputStream input = invocation.getArgument(0);
+            assertEquals(LINE, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            return new TaskImportResponse(7L, TaskImportStatus.COMPLETED, 3, 2, 0, 1, null,
+                    List.of(new TaskImportLineError(2, "Пользователь с email missing@example.com не найден")));
+        });
+
+        mockMvc.perform(post("/task/import")
+                        .param("jobId", "7")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(LINE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.importedTasks").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void importTasks_shouldDecompressGzippedBody() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(LINE.getBytes(StandardCharsets.UTF_8));
+        }
+
+        when(taskImportService.importTasks(any(), isNull())).thenAnswer(invocation -> {
+            InputStream input = invocation.getArgument(0);
+            assertEquals(LINE, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            return new TaskImportResponse(1L, TaskImportStatus.COMPLETED, 1, 1, 0, 0, null, List.of());
+        });
+
+        mockMvc.perform(post("/task/import")
+                        .header("Content-Encoding", "gzip")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedTasks").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com", roles = {"USER"})
+    void importTasks_shouldReturnAccessDeniedException() throws Exception {
+        mockMvc.perform(post("/task/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(LINE))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(taskImportService);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com", roles = {"ADMIN"})
+    void getImportJob_shouldReturnNotFoundException() throws Exception {
+        when(taskImportService.getImportJob(5L)).thenThrow(new TaskImportJobNotFoundException("Импорт с айди 5 не найден"));
+
+        mockMvc.perform(get("/task/import/5"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Импорт с айди 5 не найден"));
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.taskmanagementsystem.controllers;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.Task;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Весь путь GET /task/{id} вместе с open-in-view: MockMvc выполняет запрос в потоке теста
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "task.event-log.directory=target/task-view-connections-events"
+})
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+public class TaskViewConnectionsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ConnectionTracker connectionTracker;
+
+    private User assignee;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.save(createUser("admin@example.com", Role.ADMIN));
+        assignee = userRepository.save(createUser("assignee@example.com", Role.USER));
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(TaskStatus.TODO);
+        task.setAuthor(admin);
+        task.setAssignees(Set.of(assignee));
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getTask_shouldNotHoldRequestConnectionWhileLoadingStaleTask() throws Exception {
+        connectionTracker.reset(Thread.currentThread());
+
+        mockMvc.perform(get("/task/{id}", taskId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(assignee))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+
+        // Версия для If-None-Match, затем задача, исполнители и комментарии
+        assertThat(connectionTracker.checkouts.get()).isEqualTo(4);
+        assertThat(connectionTracker.heldByRequestDuringLoads.get()).isZero();
+        assertThat(connectionTracker.peak.get()).isLessThanOrEqualTo(3);
+        assertThat(connectionTracker.open).isEmpty();
+    }
+
+    @Test
+    void getTask_shouldReleaseAccessCheckConnectionOnCacheHit() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken(assignee);
+        mockMvc.perform(get("/task/{id}", taskId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        connectionTracker.reset(Thread.currentThread());
+        mockMvc.perform(get("/task/{id}", taskId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        // Из кэша берётся ответ, права проверяются одним запросом
+        assertThat(connectionTracker.checkouts.get()).isEqualTo(1);
+        assertThat(connectionTracker.open).isEmpty();
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    // Считает соединения, выданные пулом, и те из них, что держит поток запроса, пока подзадачи берут свои
+    static class ConnectionTracker {
+        private final Map<Connection, Thread> open = new ConcurrentHashMap<>();
+        private final AtomicInteger checkouts = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicInteger heldByRequestDuringLoads = new AtomicInteger();
+        private volatile Thread requestThread;
+
+        void reset(Thread requestThread) {
+            this.requestThread = requestThread;
+            checkouts.set(0);
+            peak.set(0);
+            heldByRequestDuringLoads.set(0);
+        }
+
+        Connection track(Connection connection) {
+            Thread current = Thread.currentThread();
+            if (requestThread != null) {
+                checkouts.incrementAndGet();
+                if (current != requestThread) {
+                    int held = (int) open.values().stream().filter(owner -> owner == requestThread).count();
+                    heldByRequestDuringLoads.accumulateAndGet(held, Math::max);
+                }
+            }
+            open.put(connection, current);
+            peak.accumulateAndGet(open.size(), Math::max);
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close")) {
+                            open.remove(connection);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    @TestConfiguration
+    static class TrackingConfig {
+        @Bean
+        ConnectionTracker connectionTracker() {
+            return new ConnectionTracker();
+        }
+
+        @Bean
+        static BeanPostProcessor trackingDataSource(ObjectProvider<ConnectionTracker> tracker) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return tracker.getObject().track(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.taskmanagementsystem.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class BulkheadDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void getConnection_shouldHoldPermitUntilClose() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 2, Duration.ofSeconds(1));
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+
+        second.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_shouldFailWhenNoPermitFreesUpInTime() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, Duration.ofMillis(50));
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_shouldHandPermitToWaitingThreadOnClose() throws Exception {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, Duration.ofSeconds(5));
+
+        Connection held = dataSource.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(waiting).isNotDone();
+
+        held.close();
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void getConnection_shouldReturnPermitWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool is down"));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool is down");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+}
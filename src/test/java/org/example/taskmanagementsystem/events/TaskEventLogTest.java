@@ -0,0 +1,128 @@
+package org.example.taskmanagementsystem.events;
+
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskEventLogTest {
+
+    private static final Instant OCCURRED_AT = Instant.parse("2024-01-01T10:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_shouldReturnAppendedEventsFromOffset() {
+        TaskEventLog log = open(64, 4);
+
+        log.append(event(1, TaskChangeType.CREATED, TaskStatus.TODO, 7L));
+        log.append(event(2, TaskChangeType.DELETED, null, null));
+
+        assertThat(log.read(0, 10)).containsExactly(
+                new TaskEvent(0, 1, TaskChangeType.CREATED, 101, 7L, TaskStatus.TODO, OCCURRED_AT),
+                new TaskEvent(1, 2, TaskChangeType.DELETED, 102, null, null, OCCURRED_AT));
+        assertThat(log.read(1, 10)).extracting(TaskEvent::eventId).containsExactly(2L);
+        assertThat(log.read(2, 10)).isEmpty();
+    }
+
+    @Test
+    void append_shouldRollOverToNewSegment() throws IOException {
+        TaskEventLog log = open(3, 4);
+
+        for (int i = 1; i <= 7; i++) {
+            log.append(event(i, TaskChangeType.UPDATED, TaskStatus.IN_PROGRESS, 7L));
+        }
+
+        assertThat(segmentFiles()).containsExactly(
+                "00000000000000000000.log", "00000000000000000003.log", "00000000000000000006.log");
+        assertThat(log.read(2, 3)).extracting(TaskEvent::offset).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void open_shouldContinueAfterLastWrittenEvent() {
+        TaskEventLog log = open(3, 4);
+        for (int i = 1; i <= 4; i++) {
+            log.append(event(i, TaskChangeType.UPDATED, TaskStatus.TODO, 7L));
+        }
+        log.close();
+
+        TaskEventLog reopened = open(3, 4);
+
+        assertThat(reopened.nextOffset()).isEqualTo(4);
+        assertThat(reopened.append(event(5, TaskChangeType.UPDATED, TaskStatus.TODO, 7L))).isEqualTo(4);
+        assertThat(reopened.read(0, 10)).extracting(TaskEvent::eventId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void open_shouldDropTornRecord() throws IOException {
+        TaskEventLog log = open(8, 4);
+        log.append(event(1, TaskChangeType.CREATED, TaskStatus.TODO, 7L));
+        log.append(event(2, TaskChangeType.UPDATED, TaskStatus.TODO, 7L));
+        log.close();
+
+        // Повреждаем вторую запись, как если бы процесс упал посреди её записи
+        try (FileChannel channel = FileChannel.open(directory.resolve("00000000000000000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), TaskEvent.SIZE + 12);
+        }
+
+        TaskEventLog reopened = open(8, 4);
+
+        assertThat(reopened.nextOffset()).isEqualTo(1);
+        assertThat(reopened.read(0, 10)).extracting(TaskEvent::eventId).containsExactly(1L);
+    }
+
+    @Test
+    void read_shouldSkipCorruptRecord() throws IOException {
+        TaskEventLog log = open(2, 4);
+        for (int i = 1; i <= 3; i++) {
+            log.append(event(i, TaskChangeType.UPDATED, TaskStatus.TODO, 7L));
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("00000000000000000000.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), TaskEvent.SIZE + 12);
+        }
+
+        assertThat(log.read(0, 10)).extracting(TaskEvent::offset).containsExactly(0L, 2L);
+    }
+
+    @Test
+    void append_shouldDeleteOldestSegmentsBeyondLimit() throws IOException {
+        TaskEventLog log = open(2, 2);
+
+        for (int i = 1; i <= 6; i++) {
+            log.append(event(i, TaskChangeType.UPDATED, TaskStatus.TODO, 7L));
+        }
+
+        assertThat(segmentFiles()).containsExactly("00000000000000000002.log", "00000000000000000004.log");
+        assertThat(log.firstOffset()).isEqualTo(2);
+        assertThat(log.read(0, 10)).extracting(TaskEvent::eventId).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    private TaskEventLog open(int eventsPerSegment, int maxSegments) {
+        return new TaskEventLog(directory, DataSize.ofBytes((long) eventsPerSegment * TaskEvent.SIZE), maxSegments);
+    }
+
+    private TaskEvent event(long eventId, TaskChangeType type, TaskStatus status, Long actorId) {
+        return new TaskEvent(eventId, type, 100 + eventId, actorId, status, OCCURRED_AT);
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
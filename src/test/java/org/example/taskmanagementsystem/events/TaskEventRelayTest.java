@@ -0,0 +1,154 @@
+package org.example.taskmanagementsystem.events;
+
+import org.example.taskmanagementsystem.dto.TaskBatchItemResult;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.dto.TaskCreateRequest;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskPriority;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskChangeRepository;
+import org.example.taskmanagementsystem.repositories.TaskOutboxEventRepository;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.example.taskmanagementsystem.services.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// События попадают в outbox в транзакции изменения, поэтому тесты работают без общей откатываемой транзакции
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.region_prefix=task-event-relay-test"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskService.class, TaskAccessService.class, TaskResponseCache.class, ConcurrentReads.class, TaskChangeFeed.class, TaskChangeLog.class, TaskOutbox.class, UserService.class, JwtUtil.class, RoleChangeRegistry.class})
+public class TaskEventRelayTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskOutboxEventRepository taskOutboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private TaskEventLog taskEventLog;
+    private TaskEventRelay taskEventRelay;
+    private User admin;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        taskEventLog = new TaskEventLog(directory, DataSize.ofBytes(4L * TaskEvent.SIZE), 16);
+        taskEventRelay = new TaskEventRelay(taskOutboxEventRepository, taskEventLog, transactionManager, 3);
+
+        admin = userRepository.save(createUser("admin@example.com", Role.ADMIN));
+        assignee = userRepository.save(createUser("assignee@example.com", Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll();
+        taskChangeRepository.deleteAll();
+        taskOutboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void relay_shouldMoveCommittedEventsToLogInOrder() {
+        authenticate(admin);
+        List<Long> taskIds = createTasks(5);
+        taskService.updateTaskStatus(taskIds.getFirst(), TaskStatus.IN_PROGRESS, null);
+        taskService.deleteTask(taskIds.getLast());
+
+        taskEventRelay.relay();
+
+        List<TaskEvent> events = taskEventLog.read(0, 100);
+        assertThat(events).extracting(TaskEvent::type).containsExactly(
+                TaskChangeType.CREATED, TaskChangeType.CREATED, TaskChangeType.CREATED, TaskChangeType.CREATED,
+                TaskChangeType.CREATED, TaskChangeType.STATUS_CHANGED, TaskChangeType.DELETED);
+        assertThat(events).extracting(TaskEvent::eventId).isSorted().doesNotHaveDuplicates();
+        assertThat(events.get(5).taskId()).isEqualTo(taskIds.getFirst());
+        assertThat(events.get(5).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(events.get(5).actorId()).isEqualTo(admin.getId());
+        assertThat(taskOutboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_shouldNotWriteEventsOfRolledBackChange() {
+        authenticate(admin);
+        Long taskId = createTasks(1).getFirst();
+        taskEventRelay.relay();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskOutbox.append(TaskChangeType.STATUS_CHANGED, taskId, TaskStatus.COMPLETED);
+            status.setRollbackOnly();
+        });
+        taskEventRelay.relay();
+
+        assertThat(taskEventLog.read(0, 100)).extracting(TaskEvent::type).containsExactly(TaskChangeType.CREATED);
+    }
+
+    private List<Long> createTasks(int count) {
+        List<TaskCreateRequest> requests = IntStream.range(0, count)
+                .mapToObj(i -> new TaskCreateRequest("Task " + i, "Description", TaskPriority.MEDIUM, Set.of(assignee.getId())))
+                .toList();
+        return taskService.createTasks(requests, admin).stream().map(TaskBatchItemResult::getTaskId).toList();
+    }
+
+    private void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.taskmanagementsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(registry, 2);
+
+    @Test
+    void doFilter_shouldRecordStatementsByEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestStatements.record(TimeUnit.MILLISECONDS.toNanos(2));
+            RequestStatements.record(TimeUnit.MILLISECONDS.toNanos(3));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/task/{id}");
+        });
+
+        DistributionSummary statements = registry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/task/{id}")
+                .summary();
+        Timer time = registry.get("http.server.requests.sql.time")
+                .tags("method", "GET", "uri", "/task/{id}")
+                .timer();
+
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(time.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(response.getHeader(RequestMetricsFilter.TRACE_ID_HEADER)).matches("[0-9a-f]{32}");
+        assertThat(MDC.get(RequestMetricsFilter.TRACE_ID_KEY)).isNull();
+    }
+
+    @Test
+    void doFilter_shouldTakeTraceIdFromTraceparent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/1");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) ->
+                assertThat(MDC.get(RequestMetricsFilter.TRACE_ID_KEY)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736"));
+
+        assertThat(response.getHeader(RequestMetricsFilter.TRACE_ID_HEADER)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(registry.get("http.server.requests.sql.statements").tags("uri", "UNKNOWN").summary().totalAmount())
+                .isZero();
+    }
+
+    @Test
+    void doFilter_shouldRecordAsyncBodyStatementsOnCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/export");
+        request.setAsyncSupported(true);
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestStatements.record(TimeUnit.MILLISECONDS.toNanos(1));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/task/export");
+            req.startAsync();
+        });
+        assertThat(registry.find("http.server.requests.sql.statements").summary()).isNull();
+
+        // Тело ответа пишется в другом потоке асинхронного исполнителя
+        RequestContextCallableInterceptor interceptor = new RequestContextCallableInterceptor();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        List<String> traceIds = new ArrayList<>();
+        Thread body = new Thread(() -> {
+            interceptor.preProcess(webRequest, () -> null);
+            try {
+                traceIds.add(MDC.get(RequestMetricsFilter.TRACE_ID_KEY));
+                RequestStatements.record(TimeUnit.MILLISECONDS.toNanos(2));
+                RequestStatements.record(TimeUnit.MILLISECONDS.toNanos(3));
+            } finally {
+                interceptor.postProcess(webRequest, () -> null, null);
+            }
+            traceIds.add(MDC.get(RequestMetricsFilter.TRACE_ID_KEY));
+        });
+        body.start();
+        body.join();
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        DistributionSummary statements = registry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/task/export")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(traceIds).containsExactly("4bf92f3577b34da6a3ce929d0e0e4736", null);
+    }
+
+    @Test
+    void record_shouldIgnoreStatementsOutsideRequest() {
+        RequestStatements.record(1_000);
+
+        RequestStatements statements = RequestStatements.start();
+        RequestStatements.stop();
+
+        assertThat(statements.count()).isZero();
+    }
+}
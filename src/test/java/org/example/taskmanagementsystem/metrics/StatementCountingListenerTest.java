@@ -0,0 +1,58 @@
+package org.example.taskmanagementsystem.metrics;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Слушатель подключается к сессиям через hibernate.session.events.auto из application.properties
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.region_prefix=statement-counting-test"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatementCountingListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        RequestStatements.stop();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void listener_shouldCountStatementsOfCurrentRequest() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(createUser("user" + i + "@example.com"));
+        }
+        userRepository.saveAll(users);
+
+        RequestStatements statements = RequestStatements.start();
+        userRepository.findAll();
+        userRepository.findAllByEmailIn(List.of("user0@example.com", "user1@example.com"));
+
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.nanos()).isPositive();
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.taskmanagementsystem.repositories;
+
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSortField;
+import org.example.taskmanagementsystem.models.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+public class TaskSpecificationsTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private User otherAdmin;
+    private User assignee;
+    private Task highTodo;
+    private Task lowInProgress;
+    private Task mediumCompleted;
+    private Task otherAuthorTask;
+
+    @BeforeEach
+    void setUp() {
+        admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        otherAdmin = entityManager.persist(createUser("other@example.com", Role.ADMIN));
+        assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+
+        highTodo = entityManager.persist(createTask(TaskPriority.HIGH, TaskStatus.TODO, admin, Set.of(assignee)));
+        lowInProgress = entityManager.persist(createTask(TaskPriority.LOW, TaskStatus.IN_PROGRESS, admin, Set.of(assignee)));
+        mediumCompleted = entityManager.persist(createTask(TaskPriority.MEDIUM, TaskStatus.COMPLETED, admin, Set.of()));
+        otherAuthorTask = entityManager.persist(createTask(TaskPriority.HIGH, TaskStatus.TODO, otherAdmin, Set.of(assignee)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void matching_shouldFilterByMultipleStatuses() {
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setAuthorId(admin.getId());
+        request.setStatuses(Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+
+        assertThat(search(request).getContent())
+                .extracting(Task::getId)
+                .containsExactly(highTodo.getId(), lowInProgress.getId());
+    }
+
+    @Test
+    void matching_shouldCombineAuthorAndAssignee() {
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setAuthorId(otherAdmin.getId());
+        request.setAssigneeId(assignee.getId());
+
+        Page<Task> tasks = search(request);
+
+        assertThat(tasks.getTotalElements()).isEqualTo(1);
+        assertThat(tasks.getContent()).extracting(Task::getId).containsExactly(otherAuthorTask.getId());
+    }
+
+    @Test
+    void matching_shouldSortByPriorityRankAndId() {
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setPriorities(Set.of(TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.LOW));
+        request.setSort(TaskSortField.PRIORITY);
+        request.setDirection(Sort.Direction.DESC);
+
+        assertThat(search(request).getContent())
+                .extracting(Task::getId)
+                .containsExactly(otherAuthorTask.getId(), highTodo.getId(), mediumCompleted.getId(), lowInProgress.getId());
+    }
+
+    @Test
+    void schema_shouldContainCompositeIndexesForSearch() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertThat(indexes).contains("idx_task_author_status_priority_id", "idx_task_assignees_user_task");
+    }
+
+    private Page<Task> search(TaskSearchRequest request) {
+        return taskRepository.findAll(TaskSpecifications.matching(request), PageRequest.of(0, 10));
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    private Task createTask(TaskPriority priority, TaskStatus status, User author, Set<User> assignees) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setPriority(priority);
+        task.setStatus(status);
+        task.setAuthor(author);
+        task.setAssignees(assignees);
+        return task;
+    }
+}
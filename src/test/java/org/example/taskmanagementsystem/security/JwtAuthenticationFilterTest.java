@@ -0,0 +1,79 @@
+package org.example.taskmanagementsystem.security;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final RoleChangeRegistry roleChangeRegistry = new RoleChangeRegistry();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtTokenCache(jwtUtil, 100), roleChangeRegistry);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldAuthenticateFromTokenClaims() throws Exception {
+        String token = jwtUtil.generateToken(createUser(5L, "admin@example.com", Role.ADMIN));
+
+        Authentication authentication = filter(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("admin@example.com");
+        assertThat(authentication.getPrincipal()).isEqualTo(new AuthenticatedUser(5L, "admin@example.com", Role.ADMIN));
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void doFilter_shouldIgnoreTamperedToken() throws Exception {
+        String token = jwtUtil.generateToken(createUser(5L, "user@example.com", Role.USER));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(filter(tampered)).isNull();
+        assertThat(filter("not a token")).isNull();
+    }
+
+    @Test
+    void doFilter_shouldRejectTokenIssuedBeforeRoleChange() throws Exception {
+        User user = createUser(7L, "user@example.com", Role.USER);
+        String oldToken = jwtUtil.generateToken(user);
+
+        user.setRole(Role.ADMIN);
+        roleChangeRegistry.roleChanged(user.getId(), Role.ADMIN);
+        String newToken = jwtUtil.generateToken(user);
+
+        assertThat(filter(oldToken)).isNull();
+        assertThat(filter(newToken).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private User createUser(Long id, String email, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRole(role);
+        return user;
+    }
+}
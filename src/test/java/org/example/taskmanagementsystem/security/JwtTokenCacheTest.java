@@ -0,0 +1,84 @@
+package org.example.taskmanagementsystem.security;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtTokenCacheTest {
+
+    @Spy
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private JwtUtil expiringJwtUtil;
+
+    @Test
+    void resolve_shouldVerifyTokenOnlyOnce() {
+        JwtTokenCache cache = new JwtTokenCache(jwtUtil, 100);
+        String token = jwtUtil.generateToken(createUser(1L, "user@example.com", Role.USER));
+
+        AuthenticatedUser first = cache.resolve(token);
+        AuthenticatedUser second = cache.resolve(token);
+
+        assertThat(first).isEqualTo(new AuthenticatedUser(1L, "user@example.com", Role.USER));
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        verify(jwtUtil, times(1)).verifyToken(token);
+    }
+
+    @Test
+    void resolve_shouldNotCacheInvalidTokens() {
+        JwtTokenCache cache = new JwtTokenCache(jwtUtil, 100);
+
+        assertThat(cache.resolve("not a token")).isNull();
+        assertThat(cache.resolve("not a token")).isNull();
+
+        verify(jwtUtil, times(2)).verifyToken("not a token");
+    }
+
+    @Test
+    void resolve_shouldRejectExpiredTokenFromCache() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(expiringJwtUtil, 100);
+        AuthenticatedUser user = new AuthenticatedUser(1L, "user@example.com", Role.USER);
+        when(expiringJwtUtil.verifyToken("token"))
+                .thenReturn(new VerifiedToken(user, Instant.now().plusMillis(50)));
+
+        assertThat(cache.resolve("token")).isEqualTo(user);
+        Thread.sleep(100);
+
+        when(expiringJwtUtil.verifyToken("token")).thenReturn(null);
+        assertThat(cache.resolve("token")).isNull();
+        verify(expiringJwtUtil, times(2)).verifyToken("token");
+    }
+
+    @Test
+    void resolve_shouldParseEveryTimeWhenCacheIsDisabled() {
+        JwtTokenCache cache = new JwtTokenCache(jwtUtil, 0);
+        String token = jwtUtil.generateToken(createUser(1L, "user@example.com", Role.USER));
+
+        cache.resolve(token);
+        cache.resolve(token);
+
+        verify(jwtUtil, times(2)).parseToken(token);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    private User createUser(Long id, String email, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -99,12 +99,12 @@ public class AuthServiceTest {
         doReturn(false).when(authService).isUserAuthenticated();
         when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(request.getPassword(), user.getPassword())).thenReturn(true);
-        when(jwtUtil.generateToken(user.getEmail())).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(user)).thenReturn(expectedToken);
 
         String actualToken = authService.login(request);
 
         assertEquals(expectedToken, actualToken);
-        verify(jwtUtil, times(1)).generateToken(user.getEmail());
+        verify(jwtUtil, times(1)).generateToken(user);
     }
 
     @Test
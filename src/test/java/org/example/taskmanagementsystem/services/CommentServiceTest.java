@@ -3,6 +3,7 @@ package org.example.taskmanagementsystem.services;
 import org.example.taskmanagementsystem.dto.CommentCreateRequest;
 import org.example.taskmanagementsystem.dto.CommentEditRequest;
 import org.example.taskmanagementsystem.dto.CommentResponse;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
 import org.example.taskmanagementsystem.exception.CommentNotFoundException;
 import org.example.taskmanagementsystem.exception.TaskNotFoundException;
 import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
@@ -36,6 +37,21 @@ public class CommentServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskResponseCache taskResponseCache;
+
+    @Mock
+    private TaskAccessService taskAccessService;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -111,16 +127,19 @@ public class CommentServiceTest {
 
         when(taskRepository.existsById(taskId)).thenReturn(true);
         when(taskService.hasTaskAccess(taskId)).thenReturn(true);
-        when(taskService.getTask(taskId)).thenReturn(task);
+        when(taskRepository.findByIdForVersionIncrement(taskId)).thenReturn(Optional.of(task));
         when(userService.getCurrentUser()).thenReturn(currentUser);
 
         commentService.createComment(taskId, request);
 
         verify(taskRepository, times(1)).existsById(taskId);
         verify(taskService, times(1)).hasTaskAccess(taskId);
-        verify(taskService, times(1)).getTask(taskId);
+        verify(taskRepository, times(1)).findByIdForVersionIncrement(taskId);
         verify(userService, times(1)).getCurrentUser();
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(taskResponseCache, times(1)).invalidate(taskId);
+        verify(taskChangeFeed, times(1)).publish(TaskChangeType.COMMENTED, taskId, TaskStatus.TODO);
+        verify(taskOutbox, times(1)).append(TaskChangeType.COMMENTED, taskId, TaskStatus.TODO);
     }
 
     @Test
@@ -164,7 +183,8 @@ public class CommentServiceTest {
         String newContent = "Updated content";
 
         User currentUser = createUser(1L, "user@example.com", Role.USER);
-        Comment comment = createComment(commentId, "Old content", null, currentUser);
+        Task task = createTask(5L, "Test Task", "Description", TaskPriority.HIGH, TaskStatus.TODO, currentUser, Set.of(currentUser));
+        Comment comment = createComment(commentId, "Old content", task, currentUser);
 
         CommentEditRequest request = new CommentEditRequest();
         request.setContent(newContent);
@@ -172,10 +192,14 @@ public class CommentServiceTest {
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
         when(userService.getCurrentUser()).thenReturn(currentUser);
 
+        when(taskRepository.findByIdForVersionIncrement(5L)).thenReturn(Optional.of(task));
+
         commentService.editComment(commentId, request);
 
         assertEquals(newContent, comment.getContent());
         verify(commentRepository, times(1)).save(comment);
+        verify(taskRepository, times(1)).findByIdForVersionIncrement(5L);
+        verify(taskResponseCache, times(1)).invalidate(5L);
     }
 
     @Test
@@ -215,6 +239,41 @@ public class CommentServiceTest {
 
         assertEquals("У вас нет прав на изменение данного комментария", exception.getMessage());
         verify(commentRepository, never()).save(any());
+        verifyNoInteractions(taskResponseCache);
+    }
+
+    @Test
+    void getCommentsVersion_shouldReturnUnauthorizedExceptionWithoutAccess() {
+        User currentUser = createUser(1L, "user@example.com", Role.USER);
+
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(taskAccessService.findAccessibleVersion(currentUser, 1L)).thenReturn(Optional.empty());
+
+        UnauthorizedAccessException exception = assertThrows(UnauthorizedAccessException.class, () -> {
+            commentService.getCommentsVersion(1L);
+        });
+
+        assertEquals("У вас нет прав на просмотр комментариев этой задачи", exception.getMessage());
+    }
+
+    @Test
+    void deleteComment_shouldDeleteCommentAndInvalidateTask() {
+        long commentId = 1L;
+
+        User currentUser = createUser(1L, "user@example.com", Role.USER);
+        Task task = createTask(5L, "Test Task", "Description", TaskPriority.HIGH, TaskStatus.TODO, currentUser, Set.of(currentUser));
+        Comment comment = createComment(commentId, "Content", task, currentUser);
+
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+
+        when(taskRepository.findByIdForVersionIncrement(5L)).thenReturn(Optional.of(task));
+
+        commentService.deleteComment(commentId);
+
+        verify(commentRepository, times(1)).delete(comment);
+        verify(taskRepository, times(1)).findByIdForVersionIncrement(5L);
+        verify(taskResponseCache, times(1)).invalidate(5L);
     }
 
     private User createUser(Long id, String email, Role role) {
@@ -0,0 +1,183 @@
+package org.example.taskmanagementsystem.services;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.h2.tools.Server;
+import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentReadsTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ConcurrentReads concurrentReads = new ConcurrentReads(TransactionOperations.withoutTransaction(), executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fork_shouldRunSubtasksConcurrently() {
+        // Обе подзадачи пройдут барьер, только если выполняются одновременно
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        try (ConcurrentReads.Scope scope = concurrentReads.open()) {
+            Supplier<String> first = scope.fork(() -> awaitBarrier(barrier, "first"));
+            Supplier<String> second = scope.fork(() -> awaitBarrier(barrier, "second"));
+            scope.join();
+
+            assertThat(first.get()).isEqualTo("first");
+            assertThat(second.get()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void join_shouldLetStartedSubtasksFinishAndRethrowFirstFailure() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+
+        try (ConcurrentReads.Scope scope = concurrentReads.open()) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    // Ждёт ошибку соседней подзадачи и доделывает работу уже после неё
+                    failed.await(5, TimeUnit.SECONDS);
+                    finished.set(true);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                return null;
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            scope.fork(() -> {
+                failed.countDown();
+                throw new UnauthorizedAccessException("У вас не прав на просмотр данной задачи");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(UnauthorizedAccessException.class)
+                    .hasMessage("У вас не прав на просмотр данной задачи");
+        }
+
+        assertThat(interrupted).isFalse();
+        assertThat(finished).isTrue();
+    }
+
+    @Test
+    void join_shouldKeepPooledConnectionsOfStartedSubtasksAfterFailure() throws Exception {
+        // По TCP, как с PostgreSQL: подзадача висит в чтении из сокета, пока строка заблокирована
+        Server server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:concurrent-reads;LOCK_TIMEOUT=10000";
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(2);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config);
+             Connection locker = DriverManager.getConnection(url)) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            locker.createStatement().execute("CREATE TABLE task_lock (id INT PRIMARY KEY)");
+            locker.createStatement().execute("INSERT INTO task_lock VALUES (1)");
+            locker.setAutoCommit(false);
+            locker.createStatement().execute("SELECT id FROM task_lock WHERE id = 1 FOR UPDATE");
+
+            CountDownLatch connected = new CountDownLatch(1);
+            AtomicReference<Throwable> readError = new AtomicReference<>();
+
+            try (ConcurrentReads.Scope scope = concurrentReads.open()) {
+                scope.fork(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        connected.countDown();
+                        return statement.executeQuery("SELECT id FROM task_lock WHERE id = 1 FOR UPDATE").next();
+                    } catch (SQLException e) {
+                        readError.set(e);
+                        throw new IllegalStateException(e);
+                    }
+                });
+                assertThat(connected.await(5, TimeUnit.SECONDS)).isTrue();
+                Thread.sleep(200);
+                scope.fork(() -> {
+                    throw new TaskNotFoundException("Такой задачи не существует");
+                });
+
+                Thread.ofVirtual().start(() -> {
+                    try {
+                        Thread.sleep(200);
+                        locker.commit();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                assertThatThrownBy(scope::join).isInstanceOf(TaskNotFoundException.class);
+            }
+
+            assertThat(readError.get()).isNull();
+            assertThat(pool.getActiveConnections()).isZero();
+            assertThat(pool.getTotalConnections()).isEqualTo(2);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void fork_shouldNotExposeResultBeforeJoin() {
+        try (ConcurrentReads.Scope scope = concurrentReads.open()) {
+            Supplier<Integer> result = scope.fork(() -> 42);
+
+            assertThatThrownBy(result::get).isInstanceOf(IllegalStateException.class);
+
+            scope.join();
+            assertThat(result.get()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    void fork_shouldSkipLaterSubtasksAfterFailureWhenRunInline() {
+        ConcurrentReads inline = new ConcurrentReads(TransactionOperations.withoutTransaction(), Runnable::run);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        try (ConcurrentReads.Scope scope = inline.open()) {
+            scope.fork(() -> {
+                throw new TaskNotFoundException("Такой задачи не существует");
+            });
+            scope.fork(() -> executed.getAndSet(true));
+
+            assertThatThrownBy(scope::join).isInstanceOf(TaskNotFoundException.class);
+        }
+
+        assertThat(executed).isFalse();
+    }
+
+    private static String awaitBarrier(CyclicBarrier barrier, String value) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+            return value;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.taskmanagementsystem.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.dto.TaskEditRequest;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Кэш обновляется только после коммита, поэтому тесты работают без общей откатываемой транзакции.
+// Свой префикс регионов не даёт записям пересекаться с другими тестовыми контекстами в той же JVM
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.region_prefix=second-level-cache-test"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskService.class, TaskAccessService.class, TaskResponseCache.class, ConcurrentReads.class, TaskChangeFeed.class, TaskChangeLog.class, TaskOutbox.class, UserService.class, JwtUtil.class, RoleChangeRegistry.class})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User admin;
+    private User assignee;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        admin = userRepository.save(createUser("admin@example.com", Role.ADMIN));
+        assignee = userRepository.save(createUser("assignee@example.com", Role.USER));
+        taskId = taskRepository.save(createTask(admin, Set.of(assignee))).getId();
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findByEmail_shouldBeServedFromNaturalIdCache() {
+        assertThat(userRepository.findByEmail("admin@example.com")).isPresent();
+
+        statistics.clear();
+        assertThat(userRepository.findByEmail("admin@example.com"))
+                .hasValueSatisfying(user -> assertThat(user.getId()).isEqualTo(admin.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByEmail_shouldReturnEmptyForUnknownEmail() {
+        assertThat(userRepository.findByEmail("nobody@example.com")).isEmpty();
+    }
+
+    @Test
+    void getTask_shouldBeServedFromEntityCache() {
+        taskService.getTask(taskId);
+
+        statistics.clear();
+        Task task = taskService.getTask(taskId);
+
+        assertThat(task.getTitle()).isEqualTo("Task");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void editTask_shouldReplaceCachedTaskAndAssignees() {
+        assertThat(loadAssigneeIds()).containsExactly(assignee.getId());
+
+        taskService.editTask(taskId, new TaskEditRequest("Новое название", null, null, null, Set.of(admin.getId())), null);
+
+        assertThat(taskService.getTask(taskId).getTitle()).isEqualTo("Новое название");
+        assertThat(loadAssigneeIds()).containsExactly(admin.getId());
+        assertThat(taskService.getTask(taskId).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateTaskStatus_shouldReplaceCachedTask() {
+        authenticate(assignee);
+        taskService.getTask(taskId);
+
+        taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, null);
+
+        assertThat(taskService.getTask(taskId).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void updateTaskStatus_shouldKeepOtherTasksCached() {
+        Long otherTaskId = taskRepository.save(createTask(admin, Set.of(assignee))).getId();
+        authenticate(assignee);
+        taskService.getTask(otherTaskId);
+
+        taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, null);
+
+        statistics.clear();
+        assertThat(taskService.getTask(otherTaskId).getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void editTask_shouldReplaceEditedTaskAndKeepOtherTasksCached() {
+        Long otherTaskId = taskRepository.save(createTask(admin, Set.of(assignee))).getId();
+        taskService.getTask(taskId);
+        taskService.getTask(otherTaskId);
+
+        taskService.editTask(taskId, new TaskEditRequest("Новое название", "Новое описание", TaskPriority.HIGH, null, null), null);
+
+        statistics.clear();
+        assertThat(taskService.getTask(otherTaskId).getTitle()).isEqualTo("Task");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Task edited = taskService.getTask(taskId);
+        assertThat(edited.getTitle()).isEqualTo("Новое название");
+        assertThat(edited.getDescription()).isEqualTo("Новое описание");
+        assertThat(edited.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateTaskStatuses_shouldEvictCachedTasks() {
+        authenticate(admin);
+        taskService.getTask(taskId);
+
+        taskService.updateTaskStatuses(Set.of(taskId), TaskStatus.IN_PROGRESS);
+
+        assertThat(taskService.getTask(taskId).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void updateTaskStatuses_shouldKeepOtherTasksCached() {
+        Long otherTaskId = taskRepository.save(createTask(admin, Set.of(assignee))).getId();
+        authenticate(assignee);
+        taskService.getTask(otherTaskId);
+
+        taskService.updateTaskStatuses(Set.of(taskId), TaskStatus.COMPLETED);
+
+        statistics.clear();
+        assertThat(taskService.getTask(otherTaskId).getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(taskService.getTask(taskId).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void upgradeToAdmin_shouldReplaceCachedUser() {
+        authenticate(assignee);
+        assertThat(userRepository.findByEmail("assignee@example.com"))
+                .hasValueSatisfying(user -> assertThat(user.getRole()).isEqualTo(Role.USER));
+
+        userService.upgradeToAdmin();
+
+        assertThat(userRepository.findByEmail("assignee@example.com"))
+                .hasValueSatisfying(user -> assertThat(user.getRole()).isEqualTo(Role.ADMIN));
+        assertThat(userRepository.findById(assignee.getId()))
+                .hasValueSatisfying(user -> assertThat(user.getRole()).isEqualTo(Role.ADMIN));
+    }
+
+    private Set<Long> loadAssigneeIds() {
+        return new TransactionTemplate(transactionManager).execute(status -> taskRepository.findById(taskId)
+                .map(task -> task.getAssignees().stream().map(User::getId).collect(Collectors.toSet()))
+                .orElseThrow());
+    }
+
+    private void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    private Task createTask(User author, Set<User> assignees) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(TaskStatus.TODO);
+        task.setAuthor(author);
+        task.setAssignees(assignees);
+        return task;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.projections.TaskAccessRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskAccessServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskAccessService taskAccessService;
+
+    @Test
+    void hasAccess_shouldAllowAssignee() {
+        User user = createUser(2L, Role.USER);
+        when(taskRepository.findAccessRowById(1L, 2L)).thenReturn(Optional.of(new TaskAccessRow(1L, 0L, true)));
+
+        assertTrue(taskAccessService.hasAccess(user, 1L));
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void hasAccess_shouldDenyUserWhoIsNotAssigned() {
+        User user = createUser(2L, Role.USER);
+        when(taskRepository.findAccessRowById(1L, 2L)).thenReturn(Optional.of(new TaskAccessRow(1L, 0L, false)));
+
+        assertFalse(taskAccessService.hasAccess(user, 1L));
+    }
+
+    @Test
+    void hasAccess_shouldAllowAdmin() {
+        User admin = createUser(1L, Role.ADMIN);
+        when(taskRepository.findAccessRowById(1L, 1L)).thenReturn(Optional.of(new TaskAccessRow(1L, 0L, false)));
+
+        assertTrue(taskAccessService.hasAccess(admin, 1L));
+    }
+
+    @Test
+    void hasAccess_shouldReturnTaskNotFoundException() {
+        User admin = createUser(1L, Role.ADMIN);
+        when(taskRepository.findAccessRowById(1L, 1L)).thenReturn(Optional.empty());
+
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
+            taskAccessService.hasAccess(admin, 1L);
+        });
+
+        assertEquals("Такой задачи не существует", exception.getMessage());
+    }
+
+    @Test
+    void check_shouldSplitIdsIntoAllowedDeniedAndNotFound() {
+        User user = createUser(2L, Role.USER);
+        Set<Long> taskIds = Set.of(1L, 2L, 3L, 4L);
+        when(taskRepository.findAccessRowsByIdIn(taskIds, 2L)).thenReturn(List.of(
+                new TaskAccessRow(3L, 0L, true), new TaskAccessRow(2L, 0L, false), new TaskAccessRow(1L, 0L, true)));
+
+        TaskAccessCheck check = taskAccessService.check(user, taskIds);
+
+        assertEquals(List.of(1L, 3L), check.allowedIds());
+        assertEquals(List.of(2L), check.deniedIds());
+        assertEquals(List.of(4L), check.notFoundIds());
+    }
+
+    @Test
+    void check_shouldAllowEveryExistingTaskForAdmin() {
+        User admin = createUser(1L, Role.ADMIN);
+        Set<Long> taskIds = Set.of(1L, 2L);
+        when(taskRepository.findAccessRowsByIdIn(taskIds, 1L)).thenReturn(List.of(
+                new TaskAccessRow(2L, 0L, false), new TaskAccessRow(1L, 0L, false)));
+
+        TaskAccessCheck check = taskAccessService.check(admin, taskIds);
+
+        assertEquals(List.of(1L, 2L), check.allowedIds());
+        assertTrue(check.deniedIds().isEmpty());
+        assertTrue(check.notFoundIds().isEmpty());
+    }
+
+    private User createUser(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+}
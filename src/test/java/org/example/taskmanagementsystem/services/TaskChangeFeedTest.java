@@ -0,0 +1,179 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.dto.TaskChangeEvent;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.TaskStatus;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TaskChangeFeedTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_shouldDeliverOnlyToAssigneesAndAdmins() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 16, Duration.ofMinutes(1), Runnable::run);
+        RecordingEmitter assignee = subscribe(feed, createUser(2L, Role.USER));
+        RecordingEmitter stranger = subscribe(feed, createUser(3L, Role.USER));
+        RecordingEmitter admin = subscribe(feed, createUser(1L, Role.ADMIN));
+
+        when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(10L)))
+                .thenReturn(List.of(new TaskAssigneeRow(10L, 2L, "assignee@example.com", Role.USER)));
+
+        feed.publish(TaskChangeType.STATUS_CHANGED, 10L, TaskStatus.COMPLETED);
+
+        TaskChangeEvent expected = new TaskChangeEvent(10L, TaskChangeType.STATUS_CHANGED, TaskStatus.COMPLETED);
+        assertThat(assignee.taskEvents()).containsExactly(expected);
+        assertThat(admin.taskEvents()).containsExactly(expected);
+        assertThat(stranger.taskEvents()).isEmpty();
+        assertThat(stranger.sent).hasSize(1);
+    }
+
+    @Test
+    void publish_shouldNotifyRemovedAssignees() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 16, Duration.ofMinutes(1), Runnable::run);
+        RecordingEmitter assignee = subscribe(feed, createUser(2L, Role.USER));
+        RecordingEmitter removed = subscribe(feed, createUser(3L, Role.USER));
+        RecordingEmitter admin = subscribe(feed, createUser(1L, Role.ADMIN));
+
+        when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(10L)))
+                .thenReturn(List.of(new TaskAssigneeRow(10L, 2L, "assignee@example.com", Role.USER)));
+
+        feed.publish(TaskChangeType.UPDATED, 10L, TaskStatus.TODO, Set.of(2L, 3L));
+
+        TaskChangeEvent updated = new TaskChangeEvent(10L, TaskChangeType.UPDATED, TaskStatus.TODO);
+        assertThat(assignee.taskEvents()).containsExactly(updated);
+        assertThat(admin.taskEvents()).containsExactly(updated);
+        assertThat(removed.taskEvents())
+                .containsExactly(new TaskChangeEvent(10L, TaskChangeType.UNASSIGNED, TaskStatus.TODO));
+    }
+
+    @Test
+    void publish_shouldSkipAssigneeQueryWithoutSubscribers() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 16, Duration.ofMinutes(1), Runnable::run);
+
+        feed.publish(TaskChangeType.CREATED, 10L, TaskStatus.TODO);
+
+        assertThat(feed.hasSubscribers()).isFalse();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void publish_shouldWaitForTransactionCommit() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 16, Duration.ofMinutes(1), Runnable::run);
+        RecordingEmitter admin = subscribe(feed, createUser(1L, Role.ADMIN));
+        when(taskRepository.findAssigneeRowsByTaskIdIn(any())).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        feed.publish(TaskChangeType.DELETED, 10L, null);
+
+        assertThat(admin.taskEvents()).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(admin.taskEvents()).containsExactly(new TaskChangeEvent(10L, TaskChangeType.DELETED, null));
+    }
+
+    @Test
+    void publish_shouldDisconnectSubscriberWhenQueueOverflows() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 2, Duration.ofMinutes(1), pendingSends::add);
+        RecordingEmitter slow = subscribe(feed, createUser(1L, Role.ADMIN));
+        when(taskRepository.findAssigneeRowsByTaskIdIn(any())).thenReturn(List.of());
+
+        // Очередь на два события занимают ready и первое изменение, отправка ещё не началась
+        feed.publish(TaskChangeType.UPDATED, 10L, TaskStatus.TODO);
+        feed.publish(TaskChangeType.UPDATED, 11L, TaskStatus.TODO);
+
+        assertThat(slow.completed).isTrue();
+        assertThat(feed.hasSubscribers()).isFalse();
+
+        pendingSends.forEach(Runnable::run);
+        assertThat(slow.sent).isEmpty();
+    }
+
+    @Test
+    void send_shouldRemoveSubscriberWhenClientIsGone() {
+        TaskChangeFeed feed = new TaskChangeFeed(taskRepository, 16, Duration.ofMinutes(1), Runnable::run);
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failing = true;
+
+        feed.subscribe(createUser(2L, Role.USER), broken);
+
+        assertThat(feed.hasSubscribers()).isFalse();
+        assertThat(broken.completed).isTrue();
+    }
+
+    private RecordingEmitter subscribe(TaskChangeFeed feed, User user) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(user, emitter);
+        return emitter;
+    }
+
+    private User createUser(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        private List<TaskChangeEvent> taskEvents() {
+            return sent.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(TaskChangeEvent.class::isInstance)
+                    .map(TaskChangeEvent.class::cast)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.taskmanagementsystem.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.dto.TaskChangesResponse;
+import org.example.taskmanagementsystem.dto.TaskCreateRequest;
+import org.example.taskmanagementsystem.dto.TaskEditRequest;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.TaskChangeRepository;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Граница видимых ревизий зависит от коммитов, поэтому тесты работают без общей откатываемой транзакции
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.region_prefix=task-change-log-test"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskService.class, TaskAccessService.class, TaskResponseCache.class, ConcurrentReads.class, TaskChangeFeed.class, TaskChangeLog.class, TaskOutbox.class, UserService.class, JwtUtil.class, RoleChangeRegistry.class})
+public class TaskChangeLogTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User admin;
+    private User assignee;
+    private User stranger;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(createUser("admin@example.com", Role.ADMIN));
+        assignee = userRepository.save(createUser("assignee@example.com", Role.USER));
+        stranger = userRepository.save(createUser("stranger@example.com", Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll();
+        taskChangeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getTaskChanges_shouldReturnTasksVisibleToCaller() {
+        authenticate(assignee);
+        long bookmark = taskService.getTaskChanges(null, 10).getRevision();
+
+        Long taskId = createTask(Set.of(assignee.getId()));
+        createTask(Set.of(stranger.getId()));
+
+        TaskChangesResponse changes = taskService.getTaskChanges(bookmark, 10);
+
+        assertThat(changes.getTasks()).extracting(TaskResponse::getId).containsExactly(taskId);
+        assertThat(changes.getRemovedTaskIds()).isEmpty();
+        assertThat(changes.getRevision()).isGreaterThan(bookmark);
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getTaskChanges_shouldNotQueryDatabaseWhenNothingChanged() {
+        authenticate(assignee);
+        createTask(Set.of(assignee.getId()));
+        long revision = taskService.getTaskChanges(null, 10).getRevision();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TaskChangesResponse changes = taskService.getTaskChanges(revision, 10);
+
+        assertThat(changes.getTasks()).isEmpty();
+        assertThat(changes.getRevision()).isEqualTo(revision);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void getTaskChanges_shouldReturnEachTaskOnceInLatestState() {
+        Long taskId = createTask(Set.of(assignee.getId()));
+        authenticate(assignee);
+        long bookmark = taskService.getTaskChanges(null, 10).getRevision();
+
+        taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, null);
+        taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, null);
+
+        TaskChangesResponse changes = taskService.getTaskChanges(bookmark, 10);
+
+        assertThat(changes.getTasks()).singleElement()
+                .satisfies(task -> assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED));
+    }
+
+    @Test
+    void getTaskChanges_shouldTellUnassignedUserToRemoveTask() {
+        Long taskId = createTask(Set.of(assignee.getId()));
+        authenticate(assignee);
+        long bookmark = taskService.getTaskChanges(null, 10).getRevision();
+
+        taskService.editTask(taskId, new TaskEditRequest(null, null, null, null, Set.of(stranger.getId())), null);
+
+        TaskChangesResponse assigneeChanges = taskService.getTaskChanges(bookmark, 10);
+        assertThat(assigneeChanges.getTasks()).isEmpty();
+        assertThat(assigneeChanges.getRemovedTaskIds()).containsExactly(taskId);
+
+        authenticate(stranger);
+        assertThat(taskService.getTaskChanges(bookmark, 10).getTasks())
+                .extracting(TaskResponse::getId).containsExactly(taskId);
+    }
+
+    @Test
+    void getTaskChanges_shouldReturnTombstonesForDeletedTasks() {
+        Long taskId = createTask(Set.of(assignee.getId()));
+        authenticate(admin);
+        long bookmark = taskService.getTaskChanges(null, 10).getRevision();
+
+        taskService.deleteTask(taskId);
+
+        TaskChangesResponse adminChanges = taskService.getTaskChanges(bookmark, 10);
+        assertThat(adminChanges.getTasks()).isEmpty();
+        assertThat(adminChanges.getRemovedTaskIds()).containsExactly(taskId);
+
+        authenticate(assignee);
+        assertThat(taskService.getTaskChanges(bookmark, 10).getRemovedTaskIds()).containsExactly(taskId);
+
+        authenticate(stranger);
+        assertThat(taskService.getTaskChanges(bookmark, 10).getRemovedTaskIds()).isEmpty();
+    }
+
+    @Test
+    void getTaskChanges_shouldPageByRevision() {
+        authenticate(admin);
+        long bookmark = taskService.getTaskChanges(null, 10).getRevision();
+        Long first = createTask(Set.of(assignee.getId()));
+        Long second = createTask(Set.of(assignee.getId()));
+        Long third = createTask(Set.of(assignee.getId()));
+
+        TaskChangesResponse firstPage = taskService.getTaskChanges(bookmark, 2);
+        assertThat(firstPage.getTasks()).extracting(TaskResponse::getId).containsExactly(first, second);
+        assertThat(firstPage.isHasMore()).isTrue();
+
+        TaskChangesResponse secondPage = taskService.getTaskChanges(firstPage.getRevision(), 2);
+        assertThat(secondPage.getTasks()).extracting(TaskResponse::getId).containsExactly(third);
+        assertThat(secondPage.isHasMore()).isFalse();
+    }
+
+    @Test
+    void visibleRevision_shouldStopBeforeUncommittedTransaction() {
+        long before = taskChangeLog.visibleRevision();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskChangeLog.taskChanged(1L);
+            assertThat(taskChangeLog.visibleRevision()).isEqualTo(before);
+            status.setRollbackOnly();
+        });
+
+        assertThat(taskChangeLog.visibleRevision()).isGreaterThan(before);
+    }
+
+    private Long createTask(Set<Long> assigneeIds) {
+        TaskCreateRequest request = new TaskCreateRequest("Task", "Description", TaskPriority.MEDIUM, assigneeIds);
+        return taskService.createTasks(List.of(request), admin).getFirst().getTaskId();
+    }
+
+    private void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
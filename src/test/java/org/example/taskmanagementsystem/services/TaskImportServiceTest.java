@@ -0,0 +1,216 @@
+package org.example.taskmanagementsystem.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.dto.TaskImportLineError;
+import org.example.taskmanagementsystem.dto.TaskImportResponse;
+import org.example.taskmanagementsystem.exception.TaskCreationException;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.*;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Каждая порция импорта фиксируется своей транзакцией, поэтому тесты работают без общей откатываемой транзакции
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.region_prefix=task-import-test",
+        "task.import.batch-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({TaskImportService.class, TaskChangeFeed.class, TaskChangeLog.class, TaskOutbox.class, UserService.class, JwtUtil.class, RoleChangeRegistry.class})
+public class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskImportJobRepository taskImportJobRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskOutboxEventRepository taskOutboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(createUser("admin@example.com", Role.ADMIN));
+        userRepository.save(createUser("first@example.com", Role.USER));
+        userRepository.save(createUser("second@example.com", Role.USER));
+
+        AuthenticatedUser principal = new AuthenticatedUser(admin.getId(), admin.getEmail(), admin.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+        taskChangeRepository.deleteAll();
+        taskOutboxEventRepository.deleteAll();
+        taskImportJobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importTasks_shouldImportValidLinesAndReportInvalidOnes() {
+        String file = String.join("\n",
+                task("Task 1", "\"first@example.com\", \"second@example.com\"",
+                        "{\"authorEmail\": \"first@example.com\", \"content\": \"Comment 1\"}, {\"content\": \"Comment 2\"}"),
+                task("Task 2", "\"missing@example.com\"", ""),
+                "{not json",
+                "",
+                "{\"title\": \"\", \"description\": \"Description\", \"priority\": \"LOW\", \"assigneeEmails\": [\"first@example.com\"]}",
+                task("Task 3", "\"second@example.com\"", ""));
+
+        TaskImportResponse response = taskImportService.importTasks(input(file), null);
+
+        assertThat(response.getStatus()).isEqualTo(TaskImportStatus.COMPLETED);
+        assertThat(response.getProcessedLines()).isEqualTo(6);
+        assertThat(response.getImportedTasks()).isEqualTo(2);
+        assertThat(response.getImportedComments()).isEqualTo(2);
+        assertThat(response.getFailedLines()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(TaskImportLineError::getLine).containsExactly(2L, 3L, 5L);
+        assertThat(response.getErrors().getFirst().getMessage()).isEqualTo("Пользователь с email missing@example.com не найден");
+        assertThat(response.getErrors().getLast().getMessage()).isEqualTo("Название задачи не может быть пустым");
+
+        assertThat(taskRepository.findAllSummaries()).extracting(TaskSummary::title).containsExactly("Task 1", "Task 3");
+        assertThat(taskRepository.findAssigneeRowsByTaskIdIn(taskRepository.findAllSummaries().stream().map(TaskSummary::id).toList()))
+                .hasSize(3);
+        assertThat(taskOutboxEventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importTasks_shouldRejectAuthorWhoIsNotAdmin() {
+        String file = String.join("\n",
+                "{\"title\": \"Task 1\", \"description\": \"Description\", \"priority\": \"HIGH\", " +
+                        "\"authorEmail\": \"first@example.com\", \"assigneeEmails\": [\"second@example.com\"]}",
+                "{\"title\": \"Task 2\", \"description\": \"Description\", \"priority\": \"HIGH\", " +
+                        "\"authorEmail\": \"admin@example.com\", \"assigneeEmails\": [\"second@example.com\"]}");
+
+        TaskImportResponse response = taskImportService.importTasks(input(file), null);
+
+        assertThat(response.getImportedTasks()).isEqualTo(1);
+        assertThat(response.getFailedLines()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(TaskImportLineError::getLine).containsExactly(1L);
+        assertThat(response.getErrors().getFirst().getMessage())
+                .isEqualTo("Пользователь с email first@example.com не является администратором и не может быть автором задачи");
+        assertThat(taskRepository.findAllSummaries()).extracting(TaskSummary::title).containsExactly("Task 2");
+    }
+
+    @Test
+    void importTasks_shouldResolveUsersOncePerBatch() {
+        String file = String.join("\n",
+                task("Task 1", "\"first@example.com\"", ""),
+                task("Task 2", "\"second@example.com\"", ""),
+                task("Task 3", "\"first@example.com\"", ""),
+                task("Task 4", "\"second@example.com\"", ""));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        taskImportService.importTasks(input(file), null);
+
+        // Пользователи ищутся одним запросом на порцию из двух строк, задачи по одной не перечитываются
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        assertThat(taskRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void importTasks_shouldResumeFailedImportFromCheckpoint() {
+        String file = String.join("\n",
+                task("Task 1", "\"first@example.com\"", ""),
+                task("Task 2", "\"first@example.com\"", ""),
+                task("Task 3", "\"first@example.com\"", ""),
+                task("Task 4", "\"first@example.com\"", ""),
+                task("Task 5", "\"first@example.com\"", ""));
+
+        // Соединение обрывается на середине третьей строки: первая порция из двух строк уже сохранена
+        int cut = file.indexOf("Task 3");
+        InputStream broken = new SequenceInputStream(input(file.substring(0, cut)), new FailingInputStream());
+
+        assertThatThrownBy(() -> taskImportService.importTasks(broken, null)).isInstanceOf(UncheckedIOException.class);
+
+        TaskImportJob failed = taskImportJobRepository.findAll().getFirst();
+        assertThat(failed.getStatus()).isEqualTo(TaskImportStatus.FAILED);
+        assertThat(failed.getProcessedLines()).isEqualTo(2);
+        assertThat(taskRepository.count()).isEqualTo(2);
+
+        TaskImportResponse resumed = taskImportService.importTasks(input(file), failed.getId());
+
+        assertThat(resumed.getStatus()).isEqualTo(TaskImportStatus.COMPLETED);
+        assertThat(resumed.getImportedTasks()).isEqualTo(5);
+        assertThat(taskRepository.findAllSummaries()).extracting(TaskSummary::title)
+                .containsExactly("Task 1", "Task 2", "Task 3", "Task 4", "Task 5");
+
+        assertThatThrownBy(() -> taskImportService.importTasks(input(file), failed.getId()))
+                .isInstanceOf(TaskCreationException.class);
+    }
+
+    private String task(String title, String assigneeEmails, String comments) {
+        return "{\"title\": \"" + title + "\", \"description\": \"Description\", \"priority\": \"HIGH\", " +
+                "\"status\": \"IN_PROGRESS\", \"assigneeEmails\": [" + assigneeEmails + "], \"comments\": [" + comments + "]}";
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    private static class FailingInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            throw new IOException("Connection reset");
+        }
+    }
+}
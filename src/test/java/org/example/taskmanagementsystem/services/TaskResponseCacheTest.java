@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskResponseCacheTest {
+
+    private final TaskResponseCache cache = new TaskResponseCache(100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_shouldAssembleResponseOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        TaskResponse first = cache.get(1L, () -> createResponse(1L, "Задача", loads));
+        TaskResponse second = cache.get(1L, () -> createResponse(1L, "Задача", loads));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_shouldForceReassembly() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, () -> createResponse(1L, "Старое", loads));
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, () -> createResponse(1L, "Новое", loads)).getTitle()).isEqualTo("Новое");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldNotCacheResponseAssembledBeforeConcurrentWrite() {
+        AtomicInteger loads = new AtomicInteger();
+
+        TaskResponse stale = cache.get(1L, () -> {
+            TaskResponse response = createResponse(1L, "Старое", loads);
+            cache.invalidate(1L);
+            return response;
+        });
+
+        assertThat(stale.getTitle()).isEqualTo("Старое");
+        assertThat(cache.get(1L, () -> createResponse(1L, "Новое", loads)).getTitle()).isEqualTo("Новое");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidate_shouldEvictAgainAfterTransactionCompletes() {
+        AtomicInteger loads = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(List.of(1L, 2L));
+        // Чтение другим запросом до коммита видит ещё старые данные
+        cache.get(1L, () -> createResponse(1L, "До коммита", loads));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.get(1L, () -> createResponse(1L, "После коммита", loads)).getTitle()).isEqualTo("После коммита");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldAlwaysLoadWhenCacheIsDisabled() {
+        TaskResponseCache disabled = new TaskResponseCache(0, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get(1L, () -> createResponse(1L, "Задача", loads));
+        disabled.get(1L, () -> createResponse(1L, "Задача", loads));
+        disabled.invalidate(1L);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private TaskResponse createResponse(Long id, String title, AtomicInteger loads) {
+        loads.incrementAndGet();
+        TaskResponse response = new TaskResponse();
+        response.setId(id);
+        response.setTitle(title);
+        return response;
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.taskmanagementsystem.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.dto.TaskBatchItemResult;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateResponse;
+import org.example.taskmanagementsystem.dto.TaskCreateRequest;
+import org.example.taskmanagementsystem.dto.TaskEditRequest;
+import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSliceResponse;
+import org.example.taskmanagementsystem.dto.TaskSortField;
+import org.example.taskmanagementsystem.exception.TaskNotFoundException;
+import org.example.taskmanagementsystem.exception.TaskVersionMismatchException;
+import org.example.taskmanagementsystem.exception.UnauthorizedAccessException;
+import org.example.taskmanagementsystem.models.*;
+import org.example.taskmanagementsystem.repositories.TaskRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskService.class, TaskAccessService.class, TaskResponseCache.class, ConcurrentReads.class, TaskChangeFeed.class, TaskChangeLog.class, TaskOutbox.class, UserService.class, JwtUtil.class, RoleChangeRegistry.class})
+public class TaskServiceQueryCountTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllTasks_shouldNotIssueMoreStatementsForBiggerPages() {
+        createTasks(2, null);
+        long smallPageStatements = countStatements(() -> assertThat(taskService.getAllTasks()).hasSize(2));
+
+        createTasks(20, null);
+        long bigPageStatements = countStatements(() -> assertThat(taskService.getAllTasks()).hasSize(22));
+
+        assertThat(bigPageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    void getTasksByAuthor_shouldNotIssueMoreStatementsForBiggerPages() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        createTasks(20, author);
+
+        long smallPageStatements = countStatements(() ->
+                assertThat(taskService.getTasksByAuthor(author.getId(), null, null, 0, 2).getContent()).hasSize(2));
+        long bigPageStatements = countStatements(() ->
+                assertThat(taskService.getTasksByAuthor(author.getId(), null, null, 0, 20).getContent()).hasSize(20));
+
+        assertThat(bigPageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    void getAllTasks_shouldStitchAssigneesAuthorAndComments() {
+        createTasks(3, null);
+        entityManager.clear();
+
+        List<TaskResponse> tasks = taskService.getAllTasks();
+
+        assertThat(tasks).hasSize(3).allSatisfy(task -> {
+            assertThat(task.getAuthor().getEmail()).startsWith("author");
+            assertThat(task.getAssignees()).hasSize(2);
+            assertThat(task.getComments()).hasSize(2);
+        });
+    }
+
+    @Test
+    void listEndpoints_shouldNotLoadManagedEntities() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        createTasks(5, author);
+
+        countStatements(() -> taskService.getAllTasks());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // Загружается только автор для проверки прав
+        countStatements(() -> taskService.getTasksByAuthor(author.getId(), null, null, 0, 5));
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+
+        countStatements(() -> taskService.streamAllTasks(task -> { }));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void streamAllTasks_shouldEmitEveryTaskInIdOrder() {
+        createTasks(5, null);
+        entityManager.clear();
+
+        List<TaskResponse> tasks = new ArrayList<>();
+        taskService.streamAllTasks(tasks::add);
+
+        assertThat(tasks).hasSize(5)
+                .extracting(TaskResponse::getId)
+                .isSorted();
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getComments()).hasSize(2));
+    }
+
+    @Test
+    void exportTasks_shouldApplySearchFiltersWithFixedStatementsPerBatch() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        createTasks(4, author);
+        createTasks(3, null);
+
+        List<TaskResponse> tasks = new ArrayList<>();
+        TaskSearchRequest request = new TaskSearchRequest(author.getId(), null, Set.of(TaskStatus.TODO), null,
+                TaskSortField.ID, Sort.Direction.ASC);
+
+        // Курсор по задачам, исполнители и комментарии порции
+        assertThat(countStatements(() -> taskService.exportTasks(request, tasks::add))).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(tasks).hasSize(4)
+                .extracting(TaskResponse::getId)
+                .isSorted();
+        assertThat(tasks).allSatisfy(task -> {
+            assertThat(task.getAuthor().getEmail()).isEqualTo("admin@example.com");
+            assertThat(task.getAssignees()).hasSize(2);
+            assertThat(task.getComments()).hasSize(2);
+        });
+    }
+
+    @Test
+    void getTasksByAuthorAfter_shouldWalkAllTasksWithoutCountQuery() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        createTasks(5, author);
+        entityManager.clear();
+
+        List<Long> taskIds = new ArrayList<>();
+        String after = null;
+        do {
+            TaskSliceResponse slice = taskService.getTasksByAuthorAfter(author.getId(), TaskPriority.HIGH, null, after, 2);
+            slice.getContent().forEach(task -> taskIds.add(task.getId()));
+            after = slice.getNextCursor();
+        } while (after != null);
+
+        assertThat(taskIds).hasSize(5).doesNotHaveDuplicates().isSorted();
+
+        long keysetStatements = countStatements(() -> taskService.getTasksByAuthorAfter(author.getId(), null, null, null, 2));
+        long offsetStatements = countStatements(() -> taskService.getTasksByAuthor(author.getId(), null, null, 0, 2));
+        assertThat(keysetStatements).isEqualTo(offsetStatements - 1);
+    }
+
+    @Test
+    void createTasks_shouldInsertInJdbcBatches() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee1 = entityManager.persist(createUser("first@example.com", Role.USER));
+        User assignee2 = entityManager.persist(createUser("second@example.com", Role.USER));
+        entityManager.flush();
+
+        long smallBatchStatements = countStatements(() ->
+                taskService.createTasks(createRequests(2, Set.of(assignee1.getId(), assignee2.getId())), author));
+        long bigBatchStatements = countStatements(() ->
+                taskService.createTasks(createRequests(40, Set.of(assignee1.getId(), assignee2.getId())), author));
+
+        // Первый пакет ещё и выбирает диапазон идентификаторов из последовательности
+        assertThat(bigBatchStatements).isLessThanOrEqualTo(smallBatchStatements);
+    }
+
+    @Test
+    void createTasks_shouldReportInvalidItemsAndCreateTheRest() {
+        User author = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        entityManager.flush();
+
+        List<TaskCreateRequest> requests = new ArrayList<>(createRequests(2, Set.of(assignee.getId())));
+        requests.add(1, new TaskCreateRequest("", "Description", TaskPriority.LOW, Set.of(assignee.getId())));
+
+        List<TaskBatchItemResult> results = taskService.createTasks(requests, author);
+
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getMessage()).isEqualTo("Название задачи не может быть пустым");
+        assertThat(results.get(1).getTaskId()).isNull();
+        assertThat(results.get(2).getTaskId()).isGreaterThan(results.get(0).getTaskId());
+
+        entityManager.clear();
+        Task created = entityManager.find(Task.class, results.get(2).getTaskId());
+        assertThat(created.getAssignees()).extracting(User::getId).containsExactly(assignee.getId());
+    }
+
+    @Test
+    void updateTaskStatuses_shouldCheckAccessAndUpdateWithSingleStatements() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        User stranger = entityManager.persist(createUser("stranger@example.com", Role.USER));
+        Task assignedTask = entityManager.persist(createTask(admin, Set.of(assignee)));
+        Task foreignTask = entityManager.persist(createTask(admin, Set.of(stranger)));
+        entityManager.flush();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(assignee.getEmail(), null, "ROLE_USER"));
+        try {
+            List<TaskBulkStatusUpdateResponse> responses = new ArrayList<>();
+            long statements = countStatements(() -> responses.add(taskService.updateTaskStatuses(
+                    Set.of(assignedTask.getId(), foreignTask.getId(), -1L), TaskStatus.COMPLETED)));
+
+            // Текущий пользователь, проверка прав и UPDATE
+            assertThat(statements).isEqualTo(3);
+            assertThat(responses.getFirst().getUpdatedIds()).containsExactly(assignedTask.getId());
+            assertThat(responses.getFirst().getDeniedIds()).containsExactly(foreignTask.getId());
+            assertThat(responses.getFirst().getNotFoundIds()).containsExactly(-1L);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        entityManager.clear();
+        assertThat(entityManager.find(Task.class, assignedTask.getId()).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(entityManager.find(Task.class, foreignTask.getId()).getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void findAccessibleSummaryById_shouldReturnTaskOnlyToAssigneesAndAdmins() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        User stranger = entityManager.persist(createUser("stranger@example.com", Role.USER));
+        Task task = entityManager.persist(createTask(admin, Set.of(assignee)));
+        entityManager.flush();
+
+        assertThat(taskRepository.findAccessibleSummaryById(task.getId(), assignee.getId())).isPresent();
+        assertThat(taskRepository.findAccessibleSummaryById(task.getId(), null)).isPresent();
+        assertThat(taskRepository.findAccessibleSummaryById(task.getId(), stranger.getId())).isEmpty();
+        assertThat(taskRepository.findAccessibleSummaryById(-1L, null)).isEmpty();
+    }
+
+    @Test
+    void updateStatusesIfAccessible_shouldReturnOnlyTasksUpdatedUnderAccessCondition() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        User stranger = entityManager.persist(createUser("stranger@example.com", Role.USER));
+        Task assignedTask = entityManager.persist(createTask(admin, Set.of(assignee)));
+        Task foreignTask = entityManager.persist(createTask(admin, Set.of(stranger)));
+        entityManager.flush();
+
+        // Как если бы исполнителя сняли с foreignTask между проверкой прав и UPDATE
+        List<Long> updatedIds = taskRepository.updateStatusesIfAccessible(
+                List.of(assignedTask.getId(), foreignTask.getId()), TaskStatus.COMPLETED, assignee.getId());
+
+        assertThat(updatedIds).containsExactly(assignedTask.getId());
+        entityManager.clear();
+        assertThat(entityManager.find(Task.class, assignedTask.getId()).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(entityManager.find(Task.class, foreignTask.getId()).getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void updateTaskStatus_shouldCheckAccessAndUpdateWithSingleStatement() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        User stranger = entityManager.persist(createUser("stranger@example.com", Role.USER));
+        Task task = entityManager.persist(createTask(admin, Set.of(assignee)));
+        entityManager.flush();
+
+        try {
+            authenticate(assignee);
+            long statements = countStatements(() -> taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, null));
+
+            assertThat(statements).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+
+            authenticate(stranger);
+            assertThatThrownBy(() -> taskService.updateTaskStatus(task.getId(), TaskStatus.TODO, null))
+                    .isInstanceOf(UnauthorizedAccessException.class);
+
+            authenticate(admin);
+            assertThatThrownBy(() -> taskService.updateTaskStatus(task.getId(), TaskStatus.TODO, new TaskVersionTag(0)))
+                    .isInstanceOf(TaskVersionMismatchException.class);
+            assertThatThrownBy(() -> taskService.updateTaskStatus(-1L, TaskStatus.TODO, null))
+                    .isInstanceOf(TaskNotFoundException.class);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        entityManager.clear();
+        Task updated = entityManager.find(Task.class, task.getId());
+        assertThat(updated.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void editTask_shouldUpdateFieldsWithoutLoadingTask() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        Task task = entityManager.persist(createTask(admin, Set.of(admin)));
+        entityManager.flush();
+
+        long statements = countStatements(() -> taskService.editTask(task.getId(),
+                new TaskEditRequest("Новое название", null, TaskPriority.HIGH, TaskStatus.IN_PROGRESS, null), new TaskVersionTag(0)));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatThrownBy(() -> taskService.editTask(task.getId(),
+                new TaskEditRequest("Другое название", null, null, null, null), new TaskVersionTag(0)))
+                .isInstanceOf(TaskVersionMismatchException.class);
+
+        entityManager.clear();
+        Task updated = entityManager.find(Task.class, task.getId());
+        assertThat(updated.getTitle()).isEqualTo("Новое название");
+        assertThat(updated.getDescription()).isEqualTo("Description");
+        assertThat(updated.getPriority()).isEqualTo(TaskPriority.HIGH);
+        assertThat(updated.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void hasTaskAccess_shouldUseSingleQueryWithoutLoadingEntities() {
+        User admin = entityManager.persist(createUser("admin@example.com", Role.ADMIN));
+        User assignee = entityManager.persist(createUser("assignee@example.com", Role.USER));
+        User stranger = entityManager.persist(createUser("stranger@example.com", Role.USER));
+        Task task = entityManager.persist(createTask(admin, Set.of(assignee)));
+        entityManager.flush();
+
+        try {
+            authenticate(assignee);
+            List<Boolean> results = new ArrayList<>();
+            long statements = countStatements(() -> results.add(taskService.hasTaskAccess(task.getId())));
+
+            assertThat(statements).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getCollectionLoadCount()).isZero();
+            assertThat(results).containsExactly(true);
+
+            authenticate(stranger);
+            assertThat(taskService.hasTaskAccess(task.getId())).isFalse();
+
+            authenticate(admin);
+            assertThat(taskService.hasTaskAccess(task.getId())).isTrue();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+
+    private List<TaskCreateRequest> createRequests(int count, Set<Long> assigneeIds) {
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new TaskCreateRequest("Task " + i, "Description " + i, TaskPriority.MEDIUM, assigneeIds));
+        }
+        return requests;
+    }
+
+    // Если автор не передан, у каждой задачи будет свой автор
+    private void createTasks(int count, User author) {
+        for (int i = 0; i < count; i++) {
+            String suffix = sequence++ + "@example.com";
+            User assignee1 = entityManager.persist(createUser("first" + suffix, Role.USER));
+            User assignee2 = entityManager.persist(createUser("second" + suffix, Role.USER));
+
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description " + i);
+            task.setPriority(TaskPriority.HIGH);
+            task.setStatus(TaskStatus.TODO);
+            task.setAuthor(author != null ? author : entityManager.persist(createUser("author" + suffix, Role.ADMIN)));
+            task.setAssignees(Set.of(assignee1, assignee2));
+            entityManager.persist(task);
+
+            entityManager.persist(createComment(task, assignee1));
+            entityManager.persist(createComment(task, assignee2));
+        }
+        entityManager.flush();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    private Task createTask(User author, Set<User> assignees) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Description");
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(TaskStatus.TODO);
+        task.setAuthor(author);
+        task.setAssignees(assignees);
+        return task;
+    }
+
+    private Comment createComment(Task task, User author) {
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setAuthor(author);
+        comment.setContent("Comment");
+        return comment;
+    }
+}
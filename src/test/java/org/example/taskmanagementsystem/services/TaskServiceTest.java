@@ -1,15 +1,26 @@
 package org.example.taskmanagementsystem.services;
 
+import jakarta.validation.Validator;
+import org.example.taskmanagementsystem.dto.TaskBatchItemResult;
+import org.example.taskmanagementsystem.dto.TaskBulkStatusUpdateResponse;
+import org.example.taskmanagementsystem.dto.TaskChangeType;
 import org.example.taskmanagementsystem.dto.TaskCreateRequest;
 import org.example.taskmanagementsystem.dto.TaskEditRequest;
 import org.example.taskmanagementsystem.dto.TaskResponse;
+import org.example.taskmanagementsystem.dto.TaskSearchRequest;
+import org.example.taskmanagementsystem.dto.TaskSliceResponse;
 import org.example.taskmanagementsystem.dto.UserResponse;
 import org.example.taskmanagementsystem.exception.*;
 import org.example.taskmanagementsystem.models.*;
 import org.example.taskmanagementsystem.repositories.CommentRepository;
+import org.example.taskmanagementsystem.repositories.TaskChangeRepository;
 import org.example.taskmanagementsystem.repositories.TaskRepository;
 import org.example.taskmanagementsystem.repositories.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
+import org.example.taskmanagementsystem.repositories.projections.TaskAssigneeRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskCommentRow;
+import org.example.taskmanagementsystem.repositories.projections.TaskSummary;
+import org.example.taskmanagementsystem.util.TaskCursor;
+import org.example.taskmanagementsystem.util.TaskVersionTag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -18,7 +29,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
@@ -40,15 +55,35 @@ public class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskAccessService taskAccessService;
+
+    @Spy
+    private TaskResponseCache taskResponseCache = new TaskResponseCache(100, Duration.ofMinutes(10));
+
+    // Чтения выполняются по очереди в потоке теста, отказ в доступе отменяет следующие
+    @Spy
+    private ConcurrentReads concurrentReads = new ConcurrentReads(TransactionOperations.withoutTransaction(), Runnable::run);
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
     @InjectMocks
     @Spy
     private TaskService taskService;
 
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
-    }
-
     @Test
     void getAllTasks_shouldReturnMappedTaskResponses() {
         User author = createUser(1L, "author@example.com", Role.ADMIN);
@@ -60,9 +95,11 @@ public class TaskServiceTest {
         Task task2 = createTask(2L, "Task 2", "Description 2",
                 TaskPriority.LOW, TaskStatus.COMPLETED, author, Set.of());
 
-        List<Task> mockTasks = List.of(task1, task2);
+        List<TaskSummary> mockTasks = List.of(createSummary(task1), createSummary(task2));
 
-        when(taskRepository.findAll()).thenReturn(mockTasks);
+        when(taskRepository.findAllSummaries()).thenReturn(mockTasks);
+        when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new TaskAssigneeRow(1L, 2L, "assignee@example.com", Role.USER)));
 
         List<TaskResponse> result = taskService.getAllTasks();
 
@@ -100,16 +137,16 @@ public class TaskServiceTest {
 
         assertThat(response2.getAssignees()).isEmpty();
 
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllSummaries();
     }
 
     @Test
     void getAllTasks_shouldReturnEmptyTaskResponses() {
-        when(taskRepository.findAll()).thenReturn(new ArrayList<>());
+        when(taskRepository.findAllSummaries()).thenReturn(new ArrayList<>());
 
         List<TaskResponse> result = taskService.getAllTasks();
         assertThat(result).isEmpty();
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllSummaries();
     }
 
     @Test
@@ -121,42 +158,76 @@ public class TaskServiceTest {
         Task task = createTask(3L, "Task 3", "Description 3",
                 TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, author, Set.of(assignee));
 
-        when(taskRepository.findById(3L)).thenReturn(Optional.of(task));
-        doReturn(true).when(taskService).hasTaskAccess(task.getId());
+        when(userService.getCurrentUser()).thenReturn(author);
+        when(taskRepository.findAccessibleSummaryById(3L, null)).thenReturn(Optional.of(createSummary(task)));
+        when(taskRepository.findAssigneeRowsByTaskIdIn(List.of(3L)))
+                .thenReturn(List.of(new TaskAssigneeRow(3L, 2L, "assignee@example.com", Role.USER)));
+        when(commentRepository.findRowsByTaskIdIn(List.of(3L)))
+                .thenReturn(List.of(new TaskCommentRow(3L, 10L, "Комментарий", "assignee@example.com")));
 
         TaskResponse result = taskService.getTaskById(3L);
 
-        assertNotNull(result);
-        assertTrue(result instanceof TaskResponse);
+        assertEquals("Task 3", result.getTitle());
+        assertEquals("author@example.com", result.getAuthor().getEmail());
+        assertEquals(Set.of(new UserResponse(2L, "assignee@example.com", Role.USER)), result.getAssignees());
+        assertEquals(1, result.getComments().size());
+        assertEquals("Комментарий", result.getComments().getFirst().getContent());
+
+        verify(taskRepository, times(1)).findAccessibleSummaryById(3L, null);
+        verify(taskAccessService, never()).hasAccess(any(), any());
+    }
+
+    @Test
+    void getTaskById_shouldServeRepeatedReadsFromCacheUntilTaskIsEdited() {
+        User author = createUser(1L, "author@example.com", Role.ADMIN);
+        Task task = createTask(3L, "Task 3", "Description 3",
+                TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, author, Set.of());
+
+        when(userService.getCurrentUser()).thenReturn(author);
+        when(taskAccessService.hasAccess(author, 3L)).thenReturn(true);
+        when(taskRepository.findAccessibleSummaryById(3L, null)).thenAnswer(invocation -> Optional.of(createSummary(task)));
+        when(taskRepository.updateFields(3L, "Новое название", null, null, null, null)).thenAnswer(invocation -> {
+            task.setTitle("Новое название");
+            return 1;
+        });
+        when(taskRepository.findStatusById(3L)).thenReturn(Optional.of(TaskStatus.IN_PROGRESS));
+
+        TaskResponse first = taskService.getTaskById(3L);
+        TaskResponse second = taskService.getTaskById(3L);
+
+        assertSame(first, second);
+        verify(taskRepository, times(1)).findAccessibleSummaryById(3L, null);
+        verify(commentRepository, times(1)).findRowsByTaskIdIn(List.of(3L));
+        verify(taskAccessService, times(1)).hasAccess(author, 3L);
 
-        verify(taskRepository, times(1)).findById(3L);
-        verify(taskService, times(1)).hasTaskAccess(task.getId());
+        taskService.editTask(3L, new TaskEditRequest("Новое название", null, null, null, null), null);
+
+        assertEquals("Новое название", taskService.getTaskById(3L).getTitle());
+        verify(commentRepository, times(2)).findRowsByTaskIdIn(List.of(3L));
     }
 
     @Test
     void getTaskById_shouldReturnTaskNotFoundException() {
         long id = 3L;
-        when(taskRepository.findById(id)).thenReturn(Optional.empty());
+        User user = createUser(2L, "user@example.com", Role.USER);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.hasAccess(user, id)).thenThrow(new TaskNotFoundException("Такой задачи не существует"));
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
             taskService.getTaskById(id);
         });
 
         assertEquals("Такой задачи не существует", exception.getMessage());
-        verify(taskRepository, times(1)).findById(id);
+        verify(taskRepository, never()).findSummaryById(id);
+        verify(commentRepository, never()).findRowsByTaskIdIn(any());
     }
 
     @Test
     void getTaskById_shouldReturnUnauthorizedException() {
-        User author = createUser(1L, "author@example.com", Role.ADMIN);
-
-        User assignee = createUser(2L, "assignee@example.com", Role.USER);
-
-        Task task = createTask(3L, "Task 3", "Description 3",
-                TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, author, Set.of(assignee));
+        User user = createUser(2L, "user@example.com", Role.USER);
 
-        when(taskRepository.findById(3L)).thenReturn(Optional.of(task));
-        doReturn(false).when(taskService).hasTaskAccess(task.getId());
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.hasAccess(user, 3L)).thenReturn(false);
 
         UnauthorizedAccessException exception = assertThrows(UnauthorizedAccessException.class, () -> {
             taskService.getTaskById(3L);
@@ -164,8 +235,10 @@ public class TaskServiceTest {
 
         assertEquals("У вас не прав на просмотр данной задачи", exception.getMessage());
 
-        verify(taskRepository, times(1)).findById(3L);
-        verify(taskService, times(1)).hasTaskAccess(task.getId());
+        verify(taskRepository, times(1)).findAccessibleSummaryById(3L, 2L);
+        verify(taskRepository, never()).findSummaryById(3L);
+        verify(commentRepository, never()).findRowsByTaskIdIn(any());
+        verify(taskRepository, never()).findAssigneeRowsByTaskIdIn(any());
     }
 
     @Test
@@ -216,6 +289,47 @@ public class TaskServiceTest {
         verify(taskRepository, times(0)).save(any(Task.class));
     }
 
+    @Test
+    void createTasks_shouldResolveAssigneesOnceAndReportEveryItem() {
+        User author = createUser(1L, "author@example.com", Role.ADMIN);
+        User assignee1 = createUser(2L, "assignee1@example.com", Role.USER);
+        User assignee2 = createUser(3L, "assignee2@example.com", Role.USER);
+
+        List<TaskCreateRequest> requests = List.of(
+                new TaskCreateRequest("Task 1", "Description", TaskPriority.HIGH, Set.of(2L)),
+                new TaskCreateRequest("Task 2", "Description", TaskPriority.LOW, Set.of(4L)),
+                new TaskCreateRequest("Task 3", "Description", TaskPriority.MEDIUM, Set.of(2L, 3L)));
+
+        when(userRepository.findAllById(Set.of(2L, 3L, 4L))).thenReturn(List.of(assignee1, assignee2));
+
+        List<TaskBatchItemResult> results = taskService.createTasks(requests, author);
+
+        assertThat(results).extracting(TaskBatchItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess).containsExactly(true, false, true);
+        assertEquals("Не найдено ни одного пользователя для назначения задачи", results.get(1).getMessage());
+
+        ArgumentCaptor<Collection<Task>> tasksCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(1)).findAllById(anySet());
+        verify(taskRepository, times(1)).saveAll(tasksCaptor.capture());
+        assertThat(tasksCaptor.getValue()).extracting(Task::getTitle).containsExactly("Task 1", "Task 3");
+        assertThat(tasksCaptor.getValue()).allSatisfy(task -> assertEquals(author, task.getAuthor()));
+    }
+
+    @Test
+    void createTasks_shouldReturnTaskCreationExceptionForTooBigBatch() {
+        User author = createUser(1L, "author@example.com", Role.ADMIN);
+        List<TaskCreateRequest> requests = Collections.nCopies(1001,
+                new TaskCreateRequest("Task", "Description", TaskPriority.HIGH, Set.of(2L)));
+
+        TaskCreationException exception = assertThrows(TaskCreationException.class, () -> {
+            taskService.createTasks(requests, author);
+        });
+
+        assertEquals("За один запрос можно создать не более 1000 задач", exception.getMessage());
+        verify(userRepository, never()).findAllById(any());
+        verify(taskRepository, never()).saveAll(any());
+    }
+
     @Test
     void editTask_shouldFullEditTask() {
         User author = createUser(1L, "author@example.com", Role.ADMIN);
@@ -234,7 +348,7 @@ public class TaskServiceTest {
 
         when(userRepository.findById(2L)).thenReturn(Optional.of(assignee2));
 
-        taskService.editTask(1L, taskEditRequest);
+        taskService.editTask(1L, taskEditRequest, null);
 
         ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
         verify(taskRepository, times(1)).save(taskCaptor.capture());
@@ -247,6 +361,7 @@ public class TaskServiceTest {
         assertEquals(TaskStatus.IN_PROGRESS, savedTask.getStatus());
         assertEquals(author, savedTask.getAuthor());
         assertTrue(savedTask.getAssignees().contains(assignee2));
+        verify(taskChangeFeed, times(1)).publish(TaskChangeType.UPDATED, 1L, TaskStatus.IN_PROGRESS, Set.of(3L));
     }
 
     @Test
@@ -258,18 +373,78 @@ public class TaskServiceTest {
         Task task = createTask(1L, "Task 3", "Description 3",
                 TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, author, Set.of(assignee1, assignee2));
 
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskRepository.updateFields(task.getId(), "Task", null, null, null, null)).thenReturn(1);
+        when(taskRepository.findStatusById(task.getId())).thenReturn(Optional.of(TaskStatus.IN_PROGRESS));
 
         TaskEditRequest taskEditRequest = new TaskEditRequest();
         taskEditRequest.setTitle("Task");
+        taskEditRequest.setDescription(" ");
 
-        taskService.editTask(task.getId(), taskEditRequest);
+        taskService.editTask(task.getId(), taskEditRequest, null);
 
-        ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
-        verify(taskRepository, times(1)).save(taskCaptor.capture());
-        Task savedTask = taskCaptor.getValue();
-        assertNotNull(savedTask);
-        assertEquals("Task", savedTask.getTitle());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any());
+        verify(taskResponseCache, times(1)).invalidate(task.getId());
+        verify(taskOutbox, times(1)).append(TaskChangeType.UPDATED, task.getId(), TaskStatus.IN_PROGRESS);
+        verify(taskChangeFeed, times(1)).publish(TaskChangeType.UPDATED, task.getId(), TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void editTask_shouldNotReadStatusWhenItIsChanged() {
+        when(taskRepository.updateFields(1L, null, null, TaskPriority.HIGH, TaskStatus.COMPLETED, null)).thenReturn(1);
+
+        taskService.editTask(1L, new TaskEditRequest(null, null, TaskPriority.HIGH, TaskStatus.COMPLETED, null), null);
+
+        verify(taskRepository, never()).findStatusById(anyLong());
+        verify(taskOutbox, times(1)).append(TaskChangeType.UPDATED, 1L, TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void editTask_shouldReturnTaskNotFoundExceptionWhenNothingWasUpdated() {
+        when(taskRepository.updateFields(1L, "Task", null, null, null, null)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
+            taskService.editTask(1L, new TaskEditRequest("Task", null, null, null, null), null);
+        });
+
+        assertEquals("Такой задачи не существует", exception.getMessage());
+        verifyNoInteractions(taskOutbox, taskChangeFeed);
+    }
+
+    @Test
+    void editTask_shouldRejectStaleVersion() {
+        when(taskRepository.updateFields(1L, "Новое название", null, null, null, 4L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        TaskVersionMismatchException exception = assertThrows(TaskVersionMismatchException.class, () -> {
+            taskService.editTask(1L, new TaskEditRequest("Новое название", null, null, null, null), new TaskVersionTag(4));
+        });
+
+        assertEquals("Задача была изменена другим пользователем, обновите данные и повторите запрос", exception.getMessage());
+        verify(taskRepository, never()).save(any());
+        verify(taskResponseCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void editTask_shouldAcceptCurrentVersion() {
+        when(taskRepository.updateFields(1L, "Новое название", null, null, null, 5L)).thenReturn(1);
+        when(taskRepository.findStatusById(1L)).thenReturn(Optional.of(TaskStatus.TODO));
+
+        taskService.editTask(1L, new TaskEditRequest("Новое название", null, null, null, null), new TaskVersionTag(5));
+
+        verify(taskRepository, times(1)).updateFields(1L, "Новое название", null, null, null, 5L);
+        verify(taskResponseCache, times(1)).invalidate(1L);
+    }
+
+    @Test
+    void getTaskVersion_shouldReturnUnauthorizedExceptionWithoutAccess() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.findAccessibleVersion(user, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedAccessException.class, () -> taskService.getTaskVersion(1L));
     }
 
     @Test
@@ -287,7 +462,7 @@ public class TaskServiceTest {
         when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
-            taskService.editTask(taskId, taskEditRequest);
+            taskService.editTask(taskId, taskEditRequest, null);
         });
 
         assertEquals("Такой задачи не существует", exception.getMessage());
@@ -314,7 +489,7 @@ public class TaskServiceTest {
         when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
 
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
-            taskService.editTask(task.getId(), taskEditRequest);
+            taskService.editTask(task.getId(), taskEditRequest, null);
         });
 
         assertEquals("Пользователь с айди " + assignee1.getId() + " не найден", exception.getMessage());
@@ -330,8 +505,11 @@ public class TaskServiceTest {
 
         taskService.deleteTask(taskId);
 
+        InOrder inOrder = inOrder(taskOutbox, taskChangeFeed, taskRepository);
+        inOrder.verify(taskOutbox).append(TaskChangeType.DELETED, taskId, null);
+        inOrder.verify(taskChangeFeed).publish(TaskChangeType.DELETED, taskId, null);
+        inOrder.verify(taskRepository).deleteById(taskId);
         verify(taskRepository, times(1)).existsById(taskId);
-        verify(taskRepository, times(1)).deleteById(taskId);
     }
 
     @Test
@@ -363,18 +541,18 @@ public class TaskServiceTest {
         Task task1 = createTask(1L, "Task 1", "Description 1", priority, status, author, Set.of());
         Task task2 = createTask(2L, "Task 2", "Description 2", priority, status, author, Set.of());
 
-        Page<Task> tasksPage = new PageImpl<>(List.of(task1, task2));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task1), createSummary(task2)));
         Pageable pageable = PageRequest.of(page, size);
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(taskRepository.findByAuthorIdAndPriorityAndStatus(authorId, priority, status, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAuthor(authorId, priority, status, page, size);
 
         assertNotNull(result);
         assertEquals(2, result.getTotalElements());
         verify(userRepository, times(1)).findById(authorId);
-        verify(taskRepository, times(1)).findByAuthorIdAndPriorityAndStatus(authorId, priority, status, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
@@ -389,7 +567,7 @@ public class TaskServiceTest {
 
         assertEquals("Такого пользователя не существует", exception.getMessage());
         verify(userRepository, times(1)).findById(authorId);
-        verify(taskRepository, never()).findByAuthorId(anyLong(), any());
+        verify(taskRepository, never()).findSummaries(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -405,7 +583,7 @@ public class TaskServiceTest {
 
         assertEquals("Данный пользователь не является администратором и не может создавать задачи", exception.getMessage());
         verify(userRepository, times(1)).findById(authorId);
-        verify(taskRepository, never()).findByAuthorId(anyLong(), any());
+        verify(taskRepository, never()).findSummaries(anySpecification(), any(Pageable.class));
     }
 
     @Test
@@ -418,18 +596,18 @@ public class TaskServiceTest {
         User author = createUser(authorId, "admin@example.com", Role.ADMIN);
 
         Task task = createTask(1L, "Task 1", "Description 1", TaskPriority.MEDIUM, status, author, Set.of());
-        Page<Task> tasksPage = new PageImpl<>(List.of(task));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task)));
         Pageable pageable = PageRequest.of(page, size);
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(taskRepository.findByAuthorIdAndStatus(authorId, status, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAuthor(authorId, null, status, page, size);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(userRepository, times(1)).findById(authorId);
-        verify(taskRepository, times(1)).findByAuthorIdAndStatus(authorId, status, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
@@ -442,18 +620,18 @@ public class TaskServiceTest {
         User author = createUser(authorId, "admin@example.com", Role.ADMIN);
 
         Task task = createTask(1L, "Task 1", "Description 1", priority, TaskStatus.TODO, author, Set.of());
-        Page<Task> tasksPage = new PageImpl<>(List.of(task));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task)));
         Pageable pageable = PageRequest.of(page, size);
 
         when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(taskRepository.findByAuthorIdAndPriority(authorId, priority, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAuthor(authorId, priority, null, page, size);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(userRepository, times(1)).findById(authorId);
-        verify(taskRepository, times(1)).findByAuthorIdAndPriority(authorId, priority, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
@@ -473,10 +651,10 @@ public class TaskServiceTest {
         Task task1 = createTask(1L, "Task 1", "Description 1", priority, status, assignee, Set.of());
         Task task2 = createTask(2L, "Task 2", "Description 2", priority, status, assignee, Set.of());
 
-        Page<Task> tasksPage = new PageImpl<>(List.of(task1, task2));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task1), createSummary(task2)));
         Pageable pageable = PageRequest.of(page, size);
 
-        when(taskRepository.findByAssigneeIdAndPriorityAndStatus(assigneeId, priority, status, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAssignee(assigneeId, priority, status, page, size);
 
@@ -485,7 +663,7 @@ public class TaskServiceTest {
         assertEquals("Task 1", result.getContent().get(0).getTitle());
         assertEquals("Task 2", result.getContent().get(1).getTitle());
 
-        verify(taskRepository, times(1)).findByAssigneeIdAndPriorityAndStatus(assigneeId, priority, status, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
@@ -535,10 +713,10 @@ public class TaskServiceTest {
         doReturn(true).when(taskService).hasTaskListByAssigneeIdAccess(assigneeId);
 
         Task task = createTask(1L, "Task 1", "Description 1", TaskPriority.MEDIUM, status, author, Set.of());
-        Page<Task> tasksPage = new PageImpl<>(List.of(task));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task)));
         Pageable pageable = PageRequest.of(page, size);
 
-        when(taskRepository.findByAssigneeIdAndStatus(assigneeId, status, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAssignee(assigneeId, null, status, page, size);
 
@@ -546,7 +724,7 @@ public class TaskServiceTest {
         assertEquals(1, result.getTotalElements());
         assertEquals("Task 1", result.getContent().get(0).getTitle());
 
-        verify(taskRepository, times(1)).findByAssigneeIdAndStatus(assigneeId, status, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
@@ -562,75 +740,243 @@ public class TaskServiceTest {
         doReturn(true).when(taskService).hasTaskListByAssigneeIdAccess(assigneeId);
 
         Task task = createTask(1L, "Task 1", "Description 1", priority, TaskStatus.TODO, author, Set.of());
-        Page<Task> tasksPage = new PageImpl<>(List.of(task));
+        Page<TaskSummary> tasksPage = new PageImpl<>(List.of(createSummary(task)));
         Pageable pageable = PageRequest.of(page, size);
 
-        when(taskRepository.findByAssigneeIdAndPriority(assigneeId, priority, pageable)).thenReturn(tasksPage);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(tasksPage);
 
         Page<TaskResponse> result = taskService.getTasksByAssignee(assigneeId, priority, null, page, size);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
 
-        verify(taskRepository, times(1)).findByAssigneeIdAndPriority(assigneeId, priority, pageable);
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
     }
 
     @Test
     void updateTaskStatus_shouldUpdateStatus() {
         long taskId = 1L;
         TaskStatus newStatus = TaskStatus.COMPLETED;
+        User user = createUser(2L, "user@example.com", Role.USER);
 
-        User author = createUser(1L, "admin@example.com", Role.ADMIN);
-        Task task = createTask(taskId, "Task", "Description",
-                TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, author, Set.of());
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.updateStatusIfAccessible(taskId, newStatus, user.getId(), null)).thenReturn(1);
+
+        taskService.updateTaskStatus(taskId, newStatus, null);
+
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(taskAccessService);
+        verify(taskResponseCache, times(1)).invalidate(taskId);
+        verify(taskChangeFeed, times(1)).publish(TaskChangeType.STATUS_CHANGED, taskId, newStatus);
+        verify(taskOutbox, times(1)).append(TaskChangeType.STATUS_CHANGED, taskId, newStatus);
+    }
 
-        doReturn(true).when(taskService).hasTaskAccess(taskId);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+    @Test
+    void updateTaskStatus_shouldSkipAssigneeCheckForAdmin() {
+        User admin = createUser(1L, "admin@example.com", Role.ADMIN);
 
-        taskService.updateTaskStatus(taskId, newStatus);
+        when(userService.getCurrentUser()).thenReturn(admin);
+        when(taskRepository.updateStatusIfAccessible(1L, TaskStatus.COMPLETED, null, 3L)).thenReturn(1);
 
-        assertEquals(newStatus, task.getStatus());
+        taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, new TaskVersionTag(3));
 
-        verify(taskService, times(1)).hasTaskAccess(taskId);
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, times(1)).updateStatusIfAccessible(1L, TaskStatus.COMPLETED, null, 3L);
     }
 
     @Test
     void updateTaskStatus_shouldReturnUnauthorizedAccessException() {
         long taskId = 1L;
         TaskStatus newStatus = TaskStatus.COMPLETED;
+        User user = createUser(2L, "user@example.com", Role.USER);
 
-        doReturn(false).when(taskService).hasTaskAccess(taskId);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.updateStatusIfAccessible(taskId, newStatus, user.getId(), null)).thenReturn(0);
+        when(taskAccessService.findAccessibleVersion(user, taskId)).thenReturn(Optional.empty());
 
         UnauthorizedAccessException exception = assertThrows(UnauthorizedAccessException.class, () -> {
-            taskService.updateTaskStatus(taskId, newStatus);
+            taskService.updateTaskStatus(taskId, newStatus, null);
         });
 
         assertEquals("У вас нет прав на изменение статуса этой задачи", exception.getMessage());
 
-        verify(taskService, times(1)).hasTaskAccess(taskId);
-        verify(taskRepository, times(0)).findById(taskId);
-        verify(taskRepository, times(0)).save(any());
+        verify(taskResponseCache, never()).invalidate(anyLong());
+        verifyNoInteractions(taskChangeFeed);
     }
 
     @Test
     void updateTaskStatus_shouldReturnTaskNotfoundException() {
         long taskId = 1L;
         TaskStatus newStatus = TaskStatus.COMPLETED;
+        User user = createUser(2L, "user@example.com", Role.USER);
 
-        doReturn(true).when(taskService).hasTaskAccess(taskId);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.updateStatusIfAccessible(taskId, newStatus, user.getId(), null)).thenReturn(0);
+        when(taskAccessService.findAccessibleVersion(user, taskId))
+                .thenThrow(new TaskNotFoundException("Такой задачи не существует"));
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
-            taskService.updateTaskStatus(taskId, newStatus);
+            taskService.updateTaskStatus(taskId, newStatus, null);
         });
 
         assertEquals("Такой задачи не существует", exception.getMessage());
+        verifyNoInteractions(taskOutbox);
+    }
+
+    @Test
+    void updateTaskStatus_shouldRejectStaleVersion() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.updateStatusIfAccessible(1L, TaskStatus.COMPLETED, user.getId(), 4L)).thenReturn(0);
+        when(taskAccessService.findAccessibleVersion(user, 1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(TaskVersionMismatchException.class,
+                () -> taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, new TaskVersionTag(4)));
+        verifyNoInteractions(taskChangeFeed);
+    }
+
+    @Test
+    void updateTaskStatuses_shouldUpdateOnlyAllowedTasks() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+        Set<Long> taskIds = Set.of(1L, 2L, 3L);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.check(user, taskIds))
+                .thenReturn(new TaskAccessCheck(List.of(1L), List.of(2L), List.of(3L)));
+        when(taskRepository.updateStatusesIfAccessible(List.of(1L), TaskStatus.COMPLETED, 2L)).thenReturn(List.of(1L));
+
+        TaskBulkStatusUpdateResponse response = taskService.updateTaskStatuses(taskIds, TaskStatus.COMPLETED);
+
+        assertEquals(List.of(1L), response.getUpdatedIds());
+        assertEquals(List.of(2L), response.getDeniedIds());
+        assertEquals(List.of(3L), response.getNotFoundIds());
+        verify(taskRepository, times(1)).updateStatusesIfAccessible(List.of(1L), TaskStatus.COMPLETED, 2L);
+        verify(taskAccessService, times(1)).check(any(), any());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void updateTaskStatuses_shouldDenyTasksWhoseAccessWasRevokedBeforeUpdate() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+        Set<Long> taskIds = Set.of(1L, 2L, 3L);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.check(user, taskIds))
+                .thenReturn(new TaskAccessCheck(List.of(1L, 2L, 3L), List.of(), List.of()));
+        when(taskRepository.updateStatusesIfAccessible(List.of(1L, 2L, 3L), TaskStatus.COMPLETED, 2L)).thenReturn(List.of(1L));
+        when(taskAccessService.check(user, List.of(2L, 3L)))
+                .thenReturn(new TaskAccessCheck(List.of(), List.of(2L), List.of(3L)));
+
+        TaskBulkStatusUpdateResponse response = taskService.updateTaskStatuses(taskIds, TaskStatus.COMPLETED);
+
+        assertEquals(List.of(1L), response.getUpdatedIds());
+        assertEquals(List.of(2L), response.getDeniedIds());
+        assertEquals(List.of(3L), response.getNotFoundIds());
+        verify(taskOutbox, times(1)).append(TaskChangeType.STATUS_CHANGED, List.of(1L), TaskStatus.COMPLETED);
+        verify(taskChangeFeed, times(1)).publish(TaskChangeType.STATUS_CHANGED, List.of(1L), TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void updateTaskStatuses_shouldSkipUpdateWhenEverythingIsDenied() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+        Set<Long> taskIds = Set.of(1L, 2L);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.check(user, taskIds))
+                .thenReturn(new TaskAccessCheck(List.of(), List.of(1L, 2L), List.of()));
+
+        TaskBulkStatusUpdateResponse response = taskService.updateTaskStatuses(taskIds, TaskStatus.IN_PROGRESS);
+
+        assertTrue(response.getUpdatedIds().isEmpty());
+        assertEquals(List.of(1L, 2L), response.getDeniedIds());
+        verify(taskRepository, never()).updateStatusesIfAccessible(any(), any(), any());
+    }
+
+    @Test
+    void hasTaskAccess_shouldDelegateToAccessCheck() {
+        User user = createUser(2L, "user@example.com", Role.USER);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(taskAccessService.hasAccess(user, 5L)).thenReturn(true);
+
+        assertTrue(taskService.hasTaskAccess(5L));
+        verify(taskRepository, never()).findById(anyLong());
+    }
 
-        verify(taskService, times(1)).hasTaskAccess(taskId);
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(0)).save(any());
+    @Test
+    void getTasksByAuthorAfter_shouldReturnNextCursorFromLastTask() {
+        Long authorId = 1L;
+        User author = createUser(authorId, "admin@example.com", Role.ADMIN);
+
+        Task task1 = createTask(4L, "Task 4", "Description 4", TaskPriority.HIGH, TaskStatus.TODO, author, Set.of());
+        Task task2 = createTask(7L, "Task 7", "Description 7", TaskPriority.HIGH, TaskStatus.TODO, author, Set.of());
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
+        when(taskRepository.findByAuthorIdAfter(authorId, 3L, TaskPriority.HIGH, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(createSummary(task1), createSummary(task2)), pageable, true));
+
+        TaskSliceResponse result = taskService.getTasksByAuthorAfter(authorId, TaskPriority.HIGH, null,
+                new TaskCursor(3L).encode(), 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(7L, TaskCursor.decode(result.getNextCursor()).lastId());
+    }
+
+    @Test
+    void getTasksByAssigneeAfter_shouldReturnIllegalArgumentExceptionForInvalidCursor() {
+        Long assigneeId = 2L;
+        User currentUser = createUser(assigneeId, "user@example.com", Role.USER);
+
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(userRepository.existsById(assigneeId)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            taskService.getTasksByAssigneeAfter(assigneeId, null, null, "not a cursor", 10);
+        });
+
+        assertEquals("Некорректный курсор", exception.getMessage());
+        verify(taskRepository, never()).findByAssigneeIdAfter(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void searchTasks_shouldRestrictUserToOwnAssignments() {
+        User currentUser = createUser(2L, "user@example.com", Role.USER);
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setStatuses(Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(taskRepository.findSummaries(anySpecification(), eq(pageable))).thenReturn(Page.empty(pageable));
+
+        Page<TaskResponse> result = taskService.searchTasks(request, 0, 10);
+
+        assertTrue(result.isEmpty());
+        assertEquals(2L, request.getAssigneeId());
+        verify(taskRepository, times(1)).findSummaries(anySpecification(), eq(pageable));
+    }
+
+    @Test
+    void searchTasks_shouldReturnUnauthorizedExceptionForForeignAssignee() {
+        User currentUser = createUser(2L, "user@example.com", Role.USER);
+        TaskSearchRequest request = new TaskSearchRequest();
+        request.setAssigneeId(3L);
+
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+
+        UnauthorizedAccessException exception = assertThrows(UnauthorizedAccessException.class, () -> {
+            taskService.searchTasks(request, 0, 10);
+        });
+
+        assertEquals("У вас нет прав на просмотр данной информации", exception.getMessage());
+        verify(taskRepository, never()).findSummaries(anySpecification(), any(Pageable.class));
+    }
+
+    private Specification<Task> anySpecification() {
+        return ArgumentMatchers.any();
     }
 
     private User createUser(Long id, String email, Role role) {
@@ -641,6 +987,12 @@ public class TaskServiceTest {
         return user;
     }
 
+    private TaskSummary createSummary(Task task) {
+        User author = task.getAuthor();
+        return new TaskSummary(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(),
+                task.getVersion(), author.getId(), author.getEmail(), author.getRole());
+    }
+
     private Task createTask(Long id, String title, String description, TaskPriority priority, TaskStatus status, User author, Set<User> assignees) {
         Task task = new Task();
         task.setId(id);
@@ -0,0 +1,80 @@
+package org.example.taskmanagementsystem.services;
+
+import org.example.taskmanagementsystem.models.Role;
+import org.example.taskmanagementsystem.models.User;
+import org.example.taskmanagementsystem.repositories.UserRepository;
+import org.example.taskmanagementsystem.security.AuthenticatedUser;
+import org.example.taskmanagementsystem.security.JwtUtil;
+import org.example.taskmanagementsystem.security.RoleChangeRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private final RoleChangeRegistry roleChangeRegistry = new RoleChangeRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentUser_shouldBuildUserFromTokenWithoutDatabase() {
+        authenticate(new AuthenticatedUser(3L, "user@example.com", Role.USER));
+
+        User user = createUserService().getCurrentUser();
+
+        assertEquals(3L, user.getId());
+        assertEquals("user@example.com", user.getEmail());
+        assertEquals(Role.USER, user.getRole());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void upgradeToAdmin_shouldInvalidateOldRoleAndReturnNewToken() {
+        AuthenticatedUser principal = new AuthenticatedUser(3L, "user@example.com", Role.USER);
+        authenticate(principal);
+
+        User user = new User();
+        user.setId(3L);
+        user.setEmail("user@example.com");
+        user.setRole(Role.USER);
+
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user)).thenReturn("new-token");
+
+        String token = createUserService().upgradeToAdmin();
+
+        assertEquals("new-token", token);
+        assertEquals(Role.ADMIN, user.getRole());
+        assertFalse(roleChangeRegistry.isActual(principal));
+        assertTrue(roleChangeRegistry.isActual(new AuthenticatedUser(3L, "user@example.com", Role.ADMIN)));
+        verify(userRepository, times(1)).save(user);
+    }
+
+    private UserService createUserService() {
+        return new UserService(userRepository, jwtUtil, roleChangeRegistry);
+    }
+
+    private void authenticate(AuthenticatedUser principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.role().getAuthorities()));
+    }
+}